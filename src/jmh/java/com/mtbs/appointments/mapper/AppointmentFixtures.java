@@ -0,0 +1,49 @@
+package com.mtbs.appointments.mapper;
+
+import com.mtbs.appointments.model.Appointment;
+import com.mtbs.appointments.model.ServiceModel;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/** Appointment entities shaped like production data: a few services each, notes on some. */
+final class AppointmentFixtures {
+
+    private static final String[] SERVICES = {"Haircut", "Colour", "Blow dry", "Beard trim"};
+
+    private AppointmentFixtures() {
+    }
+
+    static List<Appointment> appointments(int count) {
+        LocalDateTime base = LocalDateTime.of(2026, 1, 5, 9, 0);
+        List<Appointment> appointments = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Appointment appointment = new Appointment();
+            appointment.setId(UUID.randomUUID());
+            appointment.setUserId("user-" + (i % 500));
+            appointment.setDateTime(base.plusMinutes(30L * i));
+            appointment.setGuests(i % 3);
+            appointment.setNotes(i % 4 == 0 ? "Prefers the window seat" : null);
+            appointment.setStatus("Confirmed");
+            appointment.setCreatedAt(base.minusDays(7));
+            appointment.setUpdatedAt(base.minusDays(1));
+            appointment.setVersion((long) (i % 5));
+            for (int s = 0; s < 1 + i % 3; s++) {
+                ServiceModel service = new ServiceModel();
+                service.setId(UUID.randomUUID());
+                service.setServiceCatalogueId(UUID.randomUUID());
+                service.setName(SERVICES[(i + s) % SERVICES.length]);
+                service.setDescription(SERVICES[(i + s) % SERVICES.length] + " service");
+                service.setPrice(20.0 + 5 * s);
+                service.setDurationInMinutes(30 + 15 * s);
+                appointment.addService(service);
+            }
+            appointment.setTotalCost(appointment.getServices().stream().mapToDouble(ServiceModel::getPrice).sum());
+            appointment.refreshSchedule();
+            appointments.add(appointment);
+        }
+        return appointments;
+    }
+}
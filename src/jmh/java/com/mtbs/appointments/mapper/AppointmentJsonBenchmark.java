@@ -0,0 +1,46 @@
+package com.mtbs.appointments.mapper;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.mtbs.appointments.dto.AppointmentResponse;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Jackson serialisation of {@link AppointmentResponse} lists, configured like the application's
+ * ObjectMapper (java.time module, ISO dates rather than timestamps).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AppointmentJsonBenchmark {
+
+    @Param({"100", "1000", "10000"})
+    public int size;
+
+    private ObjectWriter writer;
+    private List<AppointmentResponse> responses;
+
+    @Setup
+    public void setUp() {
+        writer = JsonMapper.builder()
+                .findAndAddModules()
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build()
+                .writerFor(new TypeReference<List<AppointmentResponse>>() {
+                });
+        responses = new AppointmentMapperImpl().toDtoList(AppointmentFixtures.appointments(size));
+    }
+
+    @Benchmark
+    public byte[] serialise() throws Exception {
+        return writer.writeValueAsBytes(responses);
+    }
+}
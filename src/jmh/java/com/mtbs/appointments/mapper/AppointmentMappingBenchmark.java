@@ -0,0 +1,34 @@
+package com.mtbs.appointments.mapper;
+
+import com.mtbs.appointments.dto.AppointmentResponse;
+import com.mtbs.appointments.model.Appointment;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/** {@link AppointmentMapper#toDtoList} over list sizes seen on the list and stream endpoints. */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AppointmentMappingBenchmark {
+
+    @Param({"100", "1000", "10000"})
+    public int size;
+
+    private final AppointmentMapper mapper = new AppointmentMapperImpl();
+    private List<Appointment> appointments;
+
+    @Setup
+    public void setUp() {
+        appointments = AppointmentFixtures.appointments(size);
+    }
+
+    @Benchmark
+    public List<AppointmentResponse> toDtoList() {
+        return mapper.toDtoList(appointments);
+    }
+}
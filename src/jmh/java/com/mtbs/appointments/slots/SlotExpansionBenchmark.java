@@ -0,0 +1,61 @@
+package com.mtbs.appointments.slots;
+
+import com.mtbs.appointments.slots.DayOccupancy.Booking;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalTime;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of turning a day's bookings into booked slots: expanding each booking into 30-minute
+ * slots, collecting them and formatting the {@code HH:mm} list. This is what a cold date
+ * costs on the slots endpoints, and what every create, update or delete costs for an
+ * indexed date.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SlotExpansionBenchmark {
+
+    private static final int[] DURATIONS = {30, 45, 60, 90, 120, 180};
+
+    /** Appointments on the day: a quiet day, a busy single chair, a busy multi-chair salon. */
+    @Param({"8", "32", "96"})
+    public int appointments;
+
+    private Map<UUID, Booking> bookings;
+    private DayOccupancy day;
+    private UUID changedId;
+    private Booking changedBooking;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        bookings = new HashMap<>();
+        for (int i = 0; i < appointments; i++) {
+            // Opening hours 09:00-18:00, starts on the half hour
+            LocalTime start = LocalTime.of(9, 0).plusMinutes(30L * random.nextInt(18));
+            bookings.put(UUID.randomUUID(), new Booking(start, DURATIONS[random.nextInt(DURATIONS.length)]));
+        }
+        day = DayOccupancy.of(bookings, 0);
+        changedId = bookings.keySet().iterator().next();
+        changedBooking = new Booking(LocalTime.of(16, 30), 60);
+    }
+
+    @Benchmark
+    public DayOccupancy buildDay() {
+        return DayOccupancy.of(bookings, 1);
+    }
+
+    @Benchmark
+    public DayOccupancy applyChange() {
+        return day.with(changedId, changedBooking, 1);
+    }
+}
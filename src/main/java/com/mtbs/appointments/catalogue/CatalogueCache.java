@@ -0,0 +1,83 @@
+package com.mtbs.appointments.catalogue;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.mtbs.appointments.dto.ServiceCatalogueResponse;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Bounded in-process cache of service catalogue entries, keyed by service ID.
+ * Entries found in the catalogue live for the configured TTL; IDs the catalogue
+ * answered with 404 are remembered as an empty {@link Optional} for the shorter
+ * negative TTL, so repeated bookings with a bad ID don't hammer the catalogue.
+ * Hit/miss/eviction counters are published as the {@code cache.*} meters tagged
+ * {@code cache=catalogue}.
+ * <p>
+ * With {@code service.catalogue.stale-fallback.enabled}, the last entry seen for each ID is
+ * also kept past its TTL (bounded by the same maximum size), so lookups can fall back to
+ * it while the catalogue is unavailable.
+ */
+@Component
+public class CatalogueCache {
+
+    private final Cache<UUID, Optional<ServiceCatalogueResponse>> cache;
+    private final Cache<UUID, ServiceCatalogueResponse> lastKnownGood;
+
+    public CatalogueCache(@Value("${service.catalogue.cache.maximum-size:1000}") long maximumSize,
+                          @Value("${service.catalogue.cache.ttl:PT5M}") Duration ttl,
+                          @Value("${service.catalogue.cache.negative-ttl:PT30S}") Duration negativeTtl,
+                          @Value("${service.catalogue.stale-fallback.enabled:false}") boolean staleFallback,
+                          MeterRegistry meterRegistry) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfter(Expiry.<UUID, Optional<ServiceCatalogueResponse>>creating(
+                        (id, entry) -> entry.isPresent() ? ttl : negativeTtl))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "catalogue");
+        this.lastKnownGood = staleFallback ? Caffeine.newBuilder().maximumSize(maximumSize).build() : null;
+    }
+
+    /**
+     * Returns the cached lookup result for the given ID: the catalogue entry, an empty
+     * {@link Optional} if the ID is known not to exist, or {@code null} on a cache miss.
+     */
+    public Optional<ServiceCatalogueResponse> getIfPresent(UUID serviceId) {
+        return cache.getIfPresent(serviceId);
+    }
+
+    public void put(UUID serviceId, ServiceCatalogueResponse service) {
+        cache.put(serviceId, Optional.of(service));
+        if (lastKnownGood != null) {
+            lastKnownGood.put(serviceId, service);
+        }
+    }
+
+    public void putNotFound(UUID serviceId) {
+        cache.put(serviceId, Optional.empty());
+        if (lastKnownGood != null) {
+            lastKnownGood.invalidate(serviceId);
+        }
+    }
+
+    /**
+     * Returns the last catalogue entry seen for the given ID, however old, or empty if
+     * there is none or stale fallback is disabled.
+     */
+    public Optional<ServiceCatalogueResponse> lastKnownGood(UUID serviceId) {
+        return lastKnownGood == null ? Optional.empty() : Optional.ofNullable(lastKnownGood.getIfPresent(serviceId));
+    }
+
+    public CacheStats stats() {
+        return cache.stats();
+    }
+}
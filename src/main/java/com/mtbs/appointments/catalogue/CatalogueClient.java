@@ -0,0 +1,315 @@
+package com.mtbs.appointments.catalogue;
+
+import com.mtbs.appointments.dto.ServiceCatalogueResponse;
+import com.mtbs.appointments.exception.AppointmentCreationException;
+import com.mtbs.appointments.exception.ServiceUnavailableException;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.reactor.bulkhead.operator.BulkheadOperator;
+import io.github.resilience4j.reactor.circuitbreaker.operator.CircuitBreakerOperator;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Client for the service-catalogue microservice.
+ * <p>
+ * Lookups are answered from the {@link CatalogueReplica} (if enabled) or the
+ * {@link CatalogueCache} where possible. Misses are
+ * coalesced: every caller asking for an ID that is already being fetched shares the
+ * in-flight result, and IDs requested within {@code service.catalogue.batch.window} are
+ * collected into a single {@code GET /services?ids=...} call. If the catalogue does not
+ * support the bulk endpoint (it answers the bulk call with 404, 405 or 501), the client falls
+ * back to one {@code GET /services/{id}} per ID and tries the bulk endpoint again after
+ * {@code service.catalogue.batch.reprobe-interval}. Any other 4xx falls back per-ID for that
+ * batch only, except 429, which is treated as the catalogue being unavailable.
+ * <p>
+ * Every outbound call has a deadline ({@code service.catalogue.call-timeout}) and runs inside
+ * a bulkhead limiting concurrent calls and a circuit breaker that rejects calls outright while
+ * the catalogue is failing. A failed or rejected lookup surfaces as
+ * {@link ServiceUnavailableException}, unless stale fallback is enabled and the
+ * {@link CatalogueCache} still holds a last-known-good entry for the ID. Rejections are counted
+ * as {@code catalogue.calls.rejected} (tagged {@code reason}) and stale answers as
+ * {@code catalogue.lookups.stale}.
+ */
+@Component
+public class CatalogueClient {
+
+    private static final Logger logger = LoggerFactory.getLogger(CatalogueClient.class);
+
+    private final WebClient catalogueServiceWebClient;
+    private final CatalogueCache catalogueCache;
+    private final CatalogueReplica catalogueReplica;
+    private final Map<UUID, Sinks.One<Optional<ServiceCatalogueResponse>>> inFlight = new ConcurrentHashMap<>();
+    private final Sinks.Many<UUID> pending = Sinks.many().unicast().onBackpressureBuffer();
+    private final Sinks.Many<UUID> singles = Sinks.many().unicast().onBackpressureBuffer();
+    private final long bulkReprobeIntervalNanos;
+    private volatile long bulkUnsupportedUntil;
+    private volatile boolean bulkUnsupported;
+    private final Disposable batcher;
+    private final Disposable singleLookups;
+    private final CircuitBreaker circuitBreaker;
+    private final Bulkhead bulkhead;
+    private final Duration callTimeout;
+    private final Counter bulkheadRejections;
+    private final Counter circuitOpenRejections;
+    private final Counter staleLookups;
+
+    public CatalogueClient(WebClient catalogueServiceWebClient,
+                           CatalogueCache catalogueCache,
+                           CatalogueReplica catalogueReplica,
+                           CircuitBreaker catalogueCircuitBreaker,
+                           Bulkhead catalogueBulkhead,
+                           MeterRegistry meterRegistry,
+                           @Value("${service.catalogue.call-timeout:PT3S}") Duration callTimeout,
+                           @Value("${service.catalogue.batch.window:PT0.005S}") Duration batchWindow,
+                           @Value("${service.catalogue.batch.maximum-size:50}") int maxBatchSize,
+                           @Value("${service.catalogue.batch.reprobe-interval:PT5M}") Duration bulkReprobeInterval) {
+        this.catalogueServiceWebClient = catalogueServiceWebClient;
+        this.catalogueCache = catalogueCache;
+        this.catalogueReplica = catalogueReplica;
+        this.circuitBreaker = catalogueCircuitBreaker;
+        this.bulkhead = catalogueBulkhead;
+        this.callTimeout = callTimeout;
+        this.bulkReprobeIntervalNanos = bulkReprobeInterval.toNanos();
+        this.bulkheadRejections = meterRegistry.counter("catalogue.calls.rejected", "reason", "bulkhead");
+        this.circuitOpenRejections = meterRegistry.counter("catalogue.calls.rejected", "reason", "circuit_open");
+        this.staleLookups = meterRegistry.counter("catalogue.lookups.stale");
+        // fairBackpressure=true: the default bufferTimeout variant can lose its window flush when
+        // the timer fires before the first element of a batch is buffered, stranding that ID
+        this.batcher = pending.asFlux()
+                .bufferTimeout(maxBatchSize, batchWindow, true)
+                .flatMap(this::resolveBatch)
+                .subscribe();
+        // Per-ID lookups share one queue, drained no wider than the bulkhead admits, so a full
+        // batch falling back to them is not rejected by our own bulkhead
+        this.singleLookups = singles.asFlux()
+                .flatMap(this::resolveSingle, catalogueBulkhead.getBulkheadConfig().getMaxConcurrentCalls())
+                .subscribe();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        batcher.dispose();
+        singleLookups.dispose();
+    }
+
+    /**
+     * Fetches the catalogue entries for the given IDs, in request order. Duplicate IDs
+     * yield duplicate entries. Fails with {@link AppointmentCreationException} if an ID
+     * is not in the catalogue and {@link ServiceUnavailableException} if the catalogue
+     * cannot be reached.
+     */
+    public Mono<List<ServiceCatalogueResponse>> fetchServices(List<UUID> serviceIds) {
+        return Flux.fromIterable(serviceIds)
+                .flatMapSequential(this::fetchService)
+                .collectList();
+    }
+
+    /**
+     * Blocking variant of {@link #fetchServices} for servlet callers. Lookups for the IDs
+     * already run concurrently, coalesced and batched, so the calling thread only waits.
+     */
+    public List<ServiceCatalogueResponse> fetchServicesBlocking(List<UUID> serviceIds) {
+        return fetchServices(serviceIds).block();
+    }
+
+    /**
+     * Looks up each distinct ID once and returns the entries found, keyed by ID. IDs the
+     * catalogue does not know are simply absent from the map, so callers resolving many
+     * bookings at once can reject only the affected ones. Still fails with
+     * {@link ServiceUnavailableException} if the catalogue cannot be reached.
+     */
+    public Map<UUID, ServiceCatalogueResponse> fetchServicesById(Collection<UUID> serviceIds) {
+        return Flux.fromIterable(new LinkedHashSet<>(serviceIds))
+                .flatMap(id -> fetchService(id)
+                        .onErrorResume(AppointmentCreationException.class, ex -> Mono.empty()))
+                .collectMap(ServiceCatalogueResponse::getId, Function.identity())
+                .block();
+    }
+
+    public Mono<ServiceCatalogueResponse> fetchService(UUID serviceId) {
+        Optional<ServiceCatalogueResponse> replicated = catalogueReplica.find(serviceId);
+        if (replicated.isPresent()) {
+            return Mono.just(replicated.get());
+        }
+        Optional<ServiceCatalogueResponse> cached = catalogueCache.getIfPresent(serviceId);
+        if (cached != null) {
+            logger.debug("Catalogue cache hit for service ID: {}", serviceId);
+            return toResult(serviceId, cached);
+        }
+
+        Sinks.One<Optional<ServiceCatalogueResponse>> created = Sinks.one();
+        Sinks.One<Optional<ServiceCatalogueResponse>> existing = inFlight.putIfAbsent(serviceId, created);
+        if (existing != null) {
+            logger.debug("Joining in-flight catalogue lookup for service ID: {}", serviceId);
+            return existing.asMono().flatMap(result -> toResult(serviceId, result));
+        }
+        pending.emitNext(serviceId, Sinks.EmitFailureHandler.busyLooping(Duration.ofSeconds(1)));
+        return created.asMono().flatMap(result -> toResult(serviceId, result));
+    }
+
+    private Mono<ServiceCatalogueResponse> toResult(UUID serviceId, Optional<ServiceCatalogueResponse> result) {
+        return result.map(Mono::just)
+                .orElseGet(() -> Mono.error(new AppointmentCreationException("Service with ID " + serviceId + " not found in catalogue.")));
+    }
+
+    private Mono<Void> resolveBatch(List<UUID> serviceIds) {
+        // A batch of one still goes through the bulk endpoint, so per-ID calls only happen as a fallback
+        if (!bulkSupported()) {
+            return resolveEach(serviceIds);
+        }
+
+        logger.info("Fetching details for {} service IDs in one bulk call", serviceIds.size());
+        String ids = serviceIds.stream().map(UUID::toString).collect(Collectors.joining(","));
+        return guarded(catalogueServiceWebClient.get()
+                .uri(uriBuilder -> uriBuilder.path("/services").queryParam("ids", ids).build())
+                .retrieve()
+                .bodyToFlux(ServiceCatalogueResponse.class)
+                .collectMap(ServiceCatalogueResponse::getId, Function.identity()))
+                .doOnNext(found -> serviceIds.forEach(id -> complete(id, Optional.ofNullable(found.get(id)))))
+                .then()
+                .onErrorResume(WebClientResponseException.class, ex -> {
+                    HttpStatusCode status = ex.getStatusCode();
+                    if (isMissingEndpoint(status)) {
+                        logger.warn("Bulk catalogue lookup answered {}; using per-ID lookups for the next {}",
+                                status, Duration.ofNanos(bulkReprobeIntervalNanos));
+                        bulkUnsupportedUntil = System.nanoTime() + bulkReprobeIntervalNanos;
+                        bulkUnsupported = true;
+                        return resolveEach(serviceIds);
+                    }
+                    if (!status.is4xxClientError() || status.isSameCodeAs(HttpStatus.TOO_MANY_REQUESTS)) {
+                        return Mono.error(ex);
+                    }
+                    logger.warn("Bulk catalogue lookup rejected with {}; falling back to per-ID lookups for this batch", status);
+                    return resolveEach(serviceIds);
+                })
+                .onErrorResume(ex -> {
+                    logger.error("Error fetching service details for IDs {}: {}", serviceIds, ex.getMessage());
+                    serviceIds.forEach(id -> failOrServeStale(id, new ServiceUnavailableException("Service catalogue is currently unavailable.", ex)));
+                    return Mono.empty();
+                });
+    }
+
+    /** False while a recent bulk call showed the catalogue has no bulk endpoint. */
+    private boolean bulkSupported() {
+        if (bulkUnsupported && System.nanoTime() - bulkUnsupportedUntil >= 0) {
+            bulkUnsupported = false;
+        }
+        return !bulkUnsupported;
+    }
+
+    private static boolean isMissingEndpoint(HttpStatusCode status) {
+        return status.isSameCodeAs(HttpStatus.NOT_FOUND)
+                || status.isSameCodeAs(HttpStatus.METHOD_NOT_ALLOWED)
+                || status.isSameCodeAs(HttpStatus.NOT_IMPLEMENTED);
+    }
+
+    /** Queues one lookup per ID; callers are completed through their in-flight sinks as before. */
+    private Mono<Void> resolveEach(List<UUID> serviceIds) {
+        serviceIds.forEach(id -> singles.emitNext(id, Sinks.EmitFailureHandler.busyLooping(Duration.ofSeconds(1))));
+        return Mono.empty();
+    }
+
+    private Mono<Void> resolveSingle(UUID serviceId) {
+        logger.info("Fetching details for service ID: {}", serviceId);
+        return guarded(catalogueServiceWebClient.get()
+                .uri("/services/{id}", serviceId)
+                .exchangeToMono(response -> {
+                    HttpStatusCode status = response.statusCode();
+                    if (status.isSameCodeAs(HttpStatus.NOT_FOUND)) {
+                        return response.releaseBody().thenReturn(Optional.<ServiceCatalogueResponse>empty());
+                    }
+                    if (status.is4xxClientError()) {
+                        return response.releaseBody().then(Mono.error(
+                                new AppointmentCreationException("Service with ID " + serviceId + " not found in catalogue.")));
+                    }
+                    if (status.is5xxServerError()) {
+                        return response.releaseBody().then(Mono.error(
+                                new ServiceUnavailableException("Service catalogue is currently unavailable.")));
+                    }
+                    return response.bodyToMono(ServiceCatalogueResponse.class).map(Optional::of);
+                }))
+                .defaultIfEmpty(Optional.empty())
+                .doOnNext(result -> complete(serviceId, result))
+                .then()
+                .onErrorResume(ex -> {
+                    logger.error("Error fetching service details for ID {}: {}", serviceId, ex.getMessage());
+                    if (ex instanceof AppointmentCreationException) {
+                        fail(serviceId, ex);
+                    } else {
+                        failOrServeStale(serviceId, ex instanceof ServiceUnavailableException
+                                ? ex
+                                : new ServiceUnavailableException("Service catalogue is currently unavailable.", ex));
+                    }
+                    return Mono.empty();
+                });
+    }
+
+    /**
+     * Applies the per-call deadline, then the bulkhead, then the circuit breaker, so a timed-out
+     * call releases its bulkhead permit and counts as a failure. While the circuit is open or
+     * the bulkhead is full the call is rejected without touching the network.
+     */
+    private <T> Mono<T> guarded(Mono<T> call) {
+        return call.timeout(callTimeout)
+                .transformDeferred(BulkheadOperator.of(bulkhead))
+                .transformDeferred(CircuitBreakerOperator.of(circuitBreaker))
+                .doOnError(BulkheadFullException.class, ex -> bulkheadRejections.increment())
+                .doOnError(CallNotPermittedException.class, ex -> circuitOpenRejections.increment());
+    }
+
+    private void complete(UUID serviceId, Optional<ServiceCatalogueResponse> result) {
+        if (result.isPresent()) {
+            catalogueCache.put(serviceId, result.get());
+        } else {
+            catalogueCache.putNotFound(serviceId);
+        }
+        Sinks.One<Optional<ServiceCatalogueResponse>> sink = inFlight.remove(serviceId);
+        if (sink != null) {
+            sink.tryEmitValue(result);
+        }
+    }
+
+    private void failOrServeStale(UUID serviceId, Throwable error) {
+        Optional<ServiceCatalogueResponse> stale = catalogueCache.lastKnownGood(serviceId);
+        if (stale.isEmpty()) {
+            fail(serviceId, error);
+            return;
+        }
+        logger.warn("Serving last-known-good catalogue entry for service ID {}: {}", serviceId, error.getMessage());
+        staleLookups.increment();
+        // Not written back to the cache: the entry's TTL must not be extended while the catalogue is down
+        Sinks.One<Optional<ServiceCatalogueResponse>> sink = inFlight.remove(serviceId);
+        if (sink != null) {
+            sink.tryEmitValue(stale);
+        }
+    }
+
+    private void fail(UUID serviceId, Throwable error) {
+        Sinks.One<Optional<ServiceCatalogueResponse>> sink = inFlight.remove(serviceId);
+        if (sink != null) {
+            sink.tryEmitError(error);
+        }
+    }
+}
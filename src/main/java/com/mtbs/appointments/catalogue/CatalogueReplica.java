@@ -0,0 +1,158 @@
+package com.mtbs.appointments.catalogue;
+
+import com.mtbs.appointments.dto.ServiceCatalogueResponse;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Optional full in-memory copy of the service catalogue, so booking validation can resolve
+ * services without a remote call. Enabled with {@code service.catalogue.replica.enabled}.
+ * <p>
+ * The whole catalogue is loaded with {@code GET /services} at startup and re-fetched every
+ * {@code service.catalogue.replica.refresh-interval}. Refreshes send the last ETag as
+ * {@code If-None-Match}, so an unchanged catalogue costs a 304 and no body. A failed refresh
+ * keeps the previous copy. The replica is only ever a hint: an ID it does not know is looked
+ * up over HTTP as before, so services added since the last refresh still resolve.
+ * Size and time since the last successful sync are the {@code catalogue.replica.size} and
+ * {@code catalogue.replica.age} gauges; refreshes are counted by {@code result}.
+ */
+@Component
+public class CatalogueReplica implements ApplicationRunner {
+
+    private static final Logger logger = LoggerFactory.getLogger(CatalogueReplica.class);
+
+    private final WebClient catalogueServiceWebClient;
+    private final boolean enabled;
+    private final Duration refreshInterval;
+    private final Duration timeout;
+    private final Counter refreshed;
+    private final Counter unchanged;
+    private final Counter failed;
+
+    private volatile Map<UUID, ServiceCatalogueResponse> services = Map.of();
+    private volatile String etag;
+    private volatile long syncedAt;
+    private volatile Disposable refresher;
+
+    public CatalogueReplica(WebClient catalogueServiceWebClient,
+                            @Value("${service.catalogue.replica.enabled:false}") boolean enabled,
+                            @Value("${service.catalogue.replica.refresh-interval:PT1M}") Duration refreshInterval,
+                            @Value("${service.catalogue.replica.timeout:PT10S}") Duration timeout,
+                            MeterRegistry meterRegistry) {
+        this.catalogueServiceWebClient = catalogueServiceWebClient;
+        this.enabled = enabled;
+        this.refreshInterval = refreshInterval;
+        this.timeout = timeout;
+        this.refreshed = meterRegistry.counter("catalogue.replica.refreshes", "result", "updated");
+        this.unchanged = meterRegistry.counter("catalogue.replica.refreshes", "result", "unchanged");
+        this.failed = meterRegistry.counter("catalogue.replica.refreshes", "result", "failed");
+        Gauge.builder("catalogue.replica.size", this, replica -> replica.services.size())
+                .register(meterRegistry);
+        Gauge.builder("catalogue.replica.age", this, CatalogueReplica::ageSeconds)
+                .baseUnit("seconds")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!enabled) {
+            return;
+        }
+        refresh();
+        // refresh() blocks, so tick on a scheduler that allows it
+        refresher = Flux.interval(refreshInterval, refreshInterval, Schedulers.boundedElastic())
+                .concatMap(tick -> Mono.fromRunnable(this::refresh))
+                .subscribe();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (refresher != null) {
+            refresher.dispose();
+        }
+    }
+
+    /** The replicated entry for the given ID, or empty if the replica is disabled or doesn't know it. */
+    public Optional<ServiceCatalogueResponse> find(UUID serviceId) {
+        return Optional.ofNullable(services.get(serviceId));
+    }
+
+    public int size() {
+        return services.size();
+    }
+
+    /**
+     * Re-fetches the catalogue unless it is unchanged since the last sync. Returns whether
+     * the replica now holds a new copy; errors are logged and leave the current copy in place.
+     */
+    public boolean refresh() {
+        try {
+            Optional<Snapshot> changed = catalogueServiceWebClient.get()
+                    .uri("/services")
+                    .headers(headers -> {
+                        if (etag != null) {
+                            headers.setIfNoneMatch(etag);
+                        }
+                    })
+                    .exchangeToMono(response -> {
+                        if (response.statusCode().isSameCodeAs(HttpStatus.NOT_MODIFIED)) {
+                            return response.releaseBody().thenReturn(Optional.<Snapshot>empty());
+                        }
+                        if (!response.statusCode().is2xxSuccessful()) {
+                            return response.createError();
+                        }
+                        String responseEtag = response.headers().asHttpHeaders().getFirst(HttpHeaders.ETAG);
+                        return response.bodyToMono(new ParameterizedTypeReference<List<ServiceCatalogueResponse>>() {
+                        }).map(body -> Optional.of(new Snapshot(responseEtag, body)));
+                    })
+                    .block(timeout);
+            syncedAt = System.currentTimeMillis();
+            if (changed == null || changed.isEmpty()) {
+                unchanged.increment();
+                return false;
+            }
+            services = changed.get().services().stream()
+                    .collect(Collectors.toUnmodifiableMap(ServiceCatalogueResponse::getId, Function.identity(), (a, b) -> b));
+            // Only remembered once the body it describes is in place
+            etag = changed.get().etag();
+            refreshed.increment();
+            logger.info("Catalogue replica refreshed with {} service(s)", services.size());
+            return true;
+        } catch (RuntimeException ex) {
+            failed.increment();
+            logger.warn("Catalogue replica refresh failed; keeping {} replicated service(s): {}", services.size(), ex.getMessage());
+            return false;
+        }
+    }
+
+    private double ageSeconds() {
+        return syncedAt == 0 ? Double.NaN : (System.currentTimeMillis() - syncedAt) / 1000.0;
+    }
+
+    private record Snapshot(String etag, List<ServiceCatalogueResponse> services) {
+    }
+}
@@ -0,0 +1,76 @@
+package com.mtbs.appointments.config;
+
+import com.mtbs.appointments.exception.AppointmentCreationException;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadConfig;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.micrometer.tagged.TaggedBulkheadMetrics;
+import io.github.resilience4j.micrometer.tagged.TaggedCircuitBreakerMetrics;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+
+import java.time.Duration;
+
+/**
+ * Circuit breaker and bulkhead guarding calls to the service catalogue. Their state, call
+ * outcomes and rejections are published as the {@code resilience4j.circuitbreaker.*} and
+ * {@code resilience4j.bulkhead.*} meters tagged {@code name=catalogue}.
+ */
+@Configuration
+public class CatalogueResilienceConfig {
+
+    public static final String CATALOGUE = "catalogue";
+
+    @Bean
+    public CircuitBreaker catalogueCircuitBreaker(
+            @Value("${service.catalogue.circuit-breaker.failure-rate-threshold:50}") float failureRateThreshold,
+            @Value("${service.catalogue.circuit-breaker.sliding-window-size:20}") int slidingWindowSize,
+            @Value("${service.catalogue.circuit-breaker.minimum-number-of-calls:10}") int minimumNumberOfCalls,
+            @Value("${service.catalogue.circuit-breaker.wait-in-open-state:PT10S}") Duration waitInOpenState,
+            @Value("${service.catalogue.circuit-breaker.permitted-calls-in-half-open-state:3}") int permittedCallsInHalfOpenState,
+            MeterRegistry meterRegistry) {
+        CircuitBreakerConfig config = CircuitBreakerConfig.custom()
+                .failureRateThreshold(failureRateThreshold)
+                .slidingWindowSize(slidingWindowSize)
+                .minimumNumberOfCalls(minimumNumberOfCalls)
+                .waitDurationInOpenState(waitInOpenState)
+                .permittedNumberOfCallsInHalfOpenState(permittedCallsInHalfOpenState)
+                .automaticTransitionFromOpenToHalfOpenEnabled(true)
+                .recordException(CatalogueResilienceConfig::isCatalogueFailure)
+                .build();
+        CircuitBreakerRegistry registry = CircuitBreakerRegistry.of(config);
+        TaggedCircuitBreakerMetrics.ofCircuitBreakerRegistry(registry).bindTo(meterRegistry);
+        return registry.circuitBreaker(CATALOGUE);
+    }
+
+    @Bean
+    public Bulkhead catalogueBulkhead(
+            @Value("${service.catalogue.bulkhead.max-concurrent-calls:25}") int maxConcurrentCalls,
+            MeterRegistry meterRegistry) {
+        BulkheadConfig config = BulkheadConfig.custom()
+                .maxConcurrentCalls(maxConcurrentCalls)
+                .maxWaitDuration(Duration.ZERO)
+                .build();
+        BulkheadRegistry registry = BulkheadRegistry.of(config);
+        TaggedBulkheadMetrics.ofBulkheadRegistry(registry).bindTo(meterRegistry);
+        return registry.bulkhead(CATALOGUE);
+    }
+
+    /**
+     * Whether an error says the catalogue is unhealthy. Client errors (an unknown ID, a
+     * catalogue without the bulk endpoint) and our own bulkhead rejections do not.
+     */
+    public static boolean isCatalogueFailure(Throwable error) {
+        if (error instanceof WebClientResponseException response) {
+            return response.getStatusCode().is5xxServerError();
+        }
+        return !(error instanceof AppointmentCreationException || error instanceof BulkheadFullException);
+    }
+}
@@ -1,9 +1,15 @@
 package com.mtbs.appointments.config;
 
+import io.netty.channel.ChannelOption;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
 import org.springframework.web.reactive.function.client.WebClient;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.time.Duration;
 
 @Configuration
 public class WebClientConfig {
@@ -11,10 +17,33 @@ public class WebClientConfig {
     @Value("${service.catalogue.base-url}")
     private String catalogueServiceBaseUrl;
 
+    /**
+     * Built from Boot's {@link WebClient.Builder} so catalogue calls are recorded as
+     * {@code http.client.requests}, tagged with URI template, status and outcome.
+     * <p>
+     * Connections come from a dedicated, bounded pool: a call that cannot get a connection
+     * within the acquire timeout fails instead of queueing behind a hanging catalogue, and
+     * connect and response timeouts bound each exchange on the wire.
+     */
     @Bean
-    public WebClient catalogueServiceWebClient() {
-        return WebClient.builder()
+    public WebClient catalogueServiceWebClient(WebClient.Builder webClientBuilder,
+                                               @Value("${service.catalogue.connect-timeout:PT1S}") Duration connectTimeout,
+                                               @Value("${service.catalogue.response-timeout:PT2S}") Duration responseTimeout,
+                                               @Value("${service.catalogue.pool.max-connections:50}") int maxConnections,
+                                               @Value("${service.catalogue.pool.pending-acquire-max-count:200}") int pendingAcquireMaxCount,
+                                               @Value("${service.catalogue.pool.pending-acquire-timeout:PT1S}") Duration pendingAcquireTimeout) {
+        ConnectionProvider pool = ConnectionProvider.builder("catalogue")
+                .maxConnections(maxConnections)
+                .pendingAcquireMaxCount(pendingAcquireMaxCount)
+                .pendingAcquireTimeout(pendingAcquireTimeout)
+                .metrics(true)
+                .build();
+        HttpClient httpClient = HttpClient.create(pool)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, Math.toIntExact(connectTimeout.toMillis()))
+                .responseTimeout(responseTimeout);
+        return webClientBuilder
                 .baseUrl(catalogueServiceBaseUrl)
+                .clientConnector(new ReactorClientHttpConnector(httpClient))
                 .build();
     }
 }
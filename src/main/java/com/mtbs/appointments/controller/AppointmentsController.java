@@ -1,19 +1,37 @@
 package com.mtbs.appointments.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.mtbs.appointments.dto.AppointmentChangesResponse;
+import com.mtbs.appointments.dto.AppointmentPageResponse;
 import com.mtbs.appointments.dto.AppointmentResponse;
+import com.mtbs.appointments.dto.AvailableSlotsResponse;
+import com.mtbs.appointments.dto.BulkCreateAppointmentsRequest;
+import com.mtbs.appointments.dto.BulkCreateAppointmentsResponse;
 import com.mtbs.appointments.dto.CreateAppointmentRequest;
+import com.mtbs.appointments.dto.SlotsRangeResponse;
 import com.mtbs.appointments.dto.SlotsResponse;
 import com.mtbs.appointments.dto.UpdateAppointmentRequest;
 import com.mtbs.appointments.exception.AppointmentNotFoundException;
 import com.mtbs.appointments.service.AppointmentsService;
+import com.mtbs.appointments.service.IdempotencyStore;
+import com.mtbs.appointments.slots.SlotChangeStream;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotNull;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.codec.ServerSentEvent;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import reactor.core.publisher.Flux;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
@@ -23,17 +41,51 @@ import java.util.UUID;
 @RequestMapping("/api/v1/appointments")
 public class AppointmentsController {
 
+    private static final MediaType APPLICATION_NDJSON = MediaType.parseMediaType("application/x-ndjson");
+    static final String IDEMPOTENCY_KEY = "Idempotency-Key";
+    static final String IDEMPOTENT_REPLAYED = "Idempotent-Replayed";
+
     private final AppointmentsService appointmentsService;
+    private final IdempotencyStore idempotencyStore;
+    private final SlotChangeStream slotChangeStream;
+    private final ObjectMapper objectMapper;
 
     @Autowired
-    public AppointmentsController(AppointmentsService appointmentsService) {
+    public AppointmentsController(AppointmentsService appointmentsService, IdempotencyStore idempotencyStore,
+                                  SlotChangeStream slotChangeStream, ObjectMapper objectMapper) {
         this.appointmentsService = appointmentsService;
+        this.idempotencyStore = idempotencyStore;
+        this.slotChangeStream = slotChangeStream;
+        this.objectMapper = objectMapper;
     }
 
+    /**
+     * With an {@code Idempotency-Key}, a retry of the same request returns the appointment
+     * created the first time, marked {@code Idempotent-Replayed: true}, instead of booking again.
+     * Keys are remembered per instance; see {@link IdempotencyStore}.
+     */
     @PostMapping
-    public ResponseEntity<AppointmentResponse> createAppointment(@Valid @RequestBody CreateAppointmentRequest request) {
-        AppointmentResponse createdAppointment = appointmentsService.createAppointment(request);
-        return new ResponseEntity<>(createdAppointment, HttpStatus.CREATED);
+    public ResponseEntity<AppointmentResponse> createAppointment(@Valid @RequestBody CreateAppointmentRequest request,
+                                                                 @RequestHeader(value = IDEMPOTENCY_KEY, required = false) String idempotencyKey) {
+        if (idempotencyKey == null || idempotencyKey.isBlank()) {
+            AppointmentResponse createdAppointment = appointmentsService.createAppointment(request);
+            return new ResponseEntity<>(createdAppointment, HttpStatus.CREATED);
+        }
+        IdempotencyStore.Outcome outcome = idempotencyStore.execute(idempotencyKey, request,
+                () -> appointmentsService.createAppointment(request));
+        return ResponseEntity.status(HttpStatus.CREATED)
+                .header(IDEMPOTENT_REPLAYED, String.valueOf(outcome.replayed()))
+                .body(outcome.response());
+    }
+
+    /**
+     * Creates every appointment it can and reports a result per item: 201 if all were
+     * created, 207 Multi-Status if any failed.
+     */
+    @PostMapping("/bulk")
+    public ResponseEntity<BulkCreateAppointmentsResponse> bulkCreateAppointments(@Valid @RequestBody BulkCreateAppointmentsRequest request) {
+        BulkCreateAppointmentsResponse response = appointmentsService.bulkCreateAppointments(request.getAppointments());
+        return new ResponseEntity<>(response, response.getFailed() == 0 ? HttpStatus.CREATED : HttpStatus.MULTI_STATUS);
     }
 
     @GetMapping
@@ -42,17 +94,69 @@ public class AppointmentsController {
         return new ResponseEntity<>(appointments, HttpStatus.OK);
     }
 
+    @GetMapping("/page")
+    public ResponseEntity<AppointmentPageResponse> getAppointmentsPage(
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "limit", defaultValue = "50") int limit) {
+        AppointmentPageResponse page = appointmentsService.getAppointmentsPage(cursor, limit);
+        return new ResponseEntity<>(page, HttpStatus.OK);
+    }
+
+    /**
+     * Change feed for keeping a copy in sync: pass the returned {@code nextCursor} as
+     * {@code since} on the next call. Deletes are reported as tombstones.
+     */
+    @GetMapping("/changes")
+    public ResponseEntity<AppointmentChangesResponse> getChanges(
+            @RequestParam(value = "since", required = false) String since,
+            @RequestParam(value = "limit", defaultValue = "100") int limit) {
+        AppointmentChangesResponse changes = appointmentsService.getChanges(since, limit);
+        return new ResponseEntity<>(changes, HttpStatus.OK);
+    }
+
+    @GetMapping(value = "/stream", produces = "application/x-ndjson")
+    public ResponseEntity<StreamingResponseBody> streamAllAppointments() {
+        StreamingResponseBody body = outputStream -> {
+            try (SequenceWriter writer = objectMapper.writer().withRootValueSeparator("\n").writeValues(outputStream)) {
+                appointmentsService.streamAllAppointments(appointment -> {
+                    try {
+                        writer.write(appointment);
+                    } catch (IOException ex) {
+                        throw new UncheckedIOException(ex);
+                    }
+                });
+            }
+        };
+        return ResponseEntity.ok().contentType(APPLICATION_NDJSON).body(body);
+    }
+
+    /**
+     * Carries a strong ETag derived from the appointment's version. A request whose
+     * {@code If-None-Match} still matches is answered 304 after reading only the version.
+     */
     @GetMapping("/{id}")
-    public ResponseEntity<AppointmentResponse> getAppointmentById(@PathVariable UUID id) throws AppointmentNotFoundException {
+    public ResponseEntity<AppointmentResponse> getAppointmentById(@PathVariable UUID id, WebRequest webRequest) throws AppointmentNotFoundException {
+        if (webRequest.getHeader(HttpHeaders.IF_NONE_MATCH) != null) {
+            Optional<Long> version = appointmentsService.getAppointmentVersion(id);
+            if (version.isPresent() && webRequest.checkNotModified(ETags.forVersion(version.get()))) {
+                return null;
+            }
+        }
         Optional<AppointmentResponse> currentAppointment = appointmentsService.getAppointmentById(id);
-        return currentAppointment.map(value -> new ResponseEntity<>(value, HttpStatus.OK))
+        return currentAppointment.map(value -> ResponseEntity.ok().eTag(ETags.forVersion(value.getVersion())).body(value))
                 .orElseGet(() -> new ResponseEntity<>(HttpStatus.NOT_FOUND));
     }
 
+    /**
+     * With {@code If-Match}, the update only applies if the appointment is still at that
+     * version; otherwise 412 Precondition Failed.
+     */
     @PutMapping("/{id}")
-    public ResponseEntity<AppointmentResponse> updateAppointment(@PathVariable UUID id, @Valid @RequestBody UpdateAppointmentRequest request) {
-        AppointmentResponse updatedBooking = appointmentsService.updateAppointment(id, request);
-        return new ResponseEntity<>(updatedBooking, HttpStatus.OK);
+    public ResponseEntity<AppointmentResponse> updateAppointment(@PathVariable UUID id,
+                                                                 @Valid @RequestBody UpdateAppointmentRequest request,
+                                                                 @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        AppointmentResponse updatedBooking = appointmentsService.updateAppointment(id, request, ETags.parseIfMatch(ifMatch));
+        return ResponseEntity.ok().eTag(ETags.forVersion(updatedBooking.getVersion())).body(updatedBooking);
     }
 
     @DeleteMapping("/{id}")
@@ -66,12 +170,54 @@ public class AppointmentsController {
             @RequestParam("date")
             @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
             @NotNull(message = "Date is required")
-            LocalDate date) {
+            LocalDate date,
+            WebRequest webRequest) {
 
+        // The day's content tag, hashed once per snapshot, so an unchanged day costs no hashing here
         SlotsResponse response = appointmentsService.getBookedSlots(date);
+        String etag = "s" + response.getContentTag();
+        if (webRequest.checkNotModified(etag)) {
+            return null;
+        }
+        return ResponseEntity.ok().eTag(etag).body(response);
+    }
+
+    /**
+     * Server-Sent Events with the booked slots of {@code date}, or of every date from
+     * {@code from} to {@code to}: the current slots first, then again whenever they may have
+     * changed. The connection is held open without a thread while idle.
+     */
+    @GetMapping(value = "/slots/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public Flux<ServerSentEvent<String>> streamBookedSlots(
+            @RequestParam(value = "date", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date,
+            @RequestParam(value = "from", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(value = "to", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        if (date != null) {
+            return slotChangeStream.subscribe(date, date);
+        }
+        if (from == null || to == null) {
+            throw new IllegalArgumentException("Either 'date' or both 'from' and 'to' are required");
+        }
+        return slotChangeStream.subscribe(from, to);
+    }
+
+    @GetMapping("/slots/available")
+    public ResponseEntity<AvailableSlotsResponse> findAvailableSlots(
+            @RequestParam("serviceIds") List<UUID> serviceIds,
+            @RequestParam("from") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(value = "count", defaultValue = "5") int count) {
+
+        AvailableSlotsResponse response = appointmentsService.findAvailableSlots(serviceIds, from, count);
         return new ResponseEntity<>(response, HttpStatus.OK);
     }
 
+    @GetMapping("/slots/range")
+    public ResponseEntity<SlotsRangeResponse> getBookedSlotsRange(
+            @RequestParam("from") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam("to") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
 
+        SlotsRangeResponse response = appointmentsService.getBookedSlotsRange(from, to);
+        return new ResponseEntity<>(response, HttpStatus.OK);
+    }
 
 }
@@ -0,0 +1,37 @@
+package com.mtbs.appointments.controller;
+
+import com.mtbs.appointments.exception.PreconditionFailedException;
+
+/**
+ * Entity tags used by {@link AppointmentsController}. Values are returned unquoted; Spring
+ * adds the quotes when writing the {@code ETag} header and when comparing {@code If-None-Match}.
+ */
+final class ETags {
+
+    private ETags() {
+    }
+
+    static String forVersion(long version) {
+        return "v" + version;
+    }
+
+    /**
+     * Parses an {@code If-Match} header into the expected appointment version, or
+     * {@code null} if the header is absent or {@code *}. Weak or unrecognised tags can never
+     * match strongly, so they fail the precondition.
+     */
+    static Long parseIfMatch(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")) {
+            return null;
+        }
+        String tag = ifMatch.trim();
+        if (tag.length() > 3 && tag.startsWith("\"v") && tag.endsWith("\"")) {
+            try {
+                return Long.parseLong(tag.substring(2, tag.length() - 1));
+            } catch (NumberFormatException ignored) {
+                // fall through
+            }
+        }
+        throw new PreconditionFailedException("If-Match " + ifMatch + " does not match any version of this appointment.");
+    }
+}
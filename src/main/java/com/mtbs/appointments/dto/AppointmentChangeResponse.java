@@ -0,0 +1,19 @@
+package com.mtbs.appointments.dto;
+
+import com.mtbs.appointments.model.AppointmentChange;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AppointmentChangeResponse {
+
+    private long sequence;
+    private UUID appointmentId;
+    private AppointmentChange.Type type;
+    private AppointmentResponse appointment; // current state; null for DELETED
+}
@@ -0,0 +1,18 @@
+package com.mtbs.appointments.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class AppointmentChangesResponse {
+
+    private List<AppointmentChangeResponse> changes;
+    private String nextCursor; // pass as 'since' on the next call; never null
+    private boolean hasMore;
+
+}
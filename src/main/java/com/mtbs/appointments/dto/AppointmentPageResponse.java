@@ -0,0 +1,17 @@
+package com.mtbs.appointments.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class AppointmentPageResponse {
+
+    private List<AppointmentResponse> appointments;
+    private String nextCursor; // null on the last page
+
+}
@@ -0,0 +1,18 @@
+package com.mtbs.appointments.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class AvailableSlotsResponse {
+
+    private int durationMinutes; // total of the requested services
+    private List<LocalDateTime> startTimes;
+
+}
@@ -0,0 +1,18 @@
+package com.mtbs.appointments.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkCreateAppointmentsRequest {
+
+    // Items are validated one by one so that invalid items fail individually
+    @NotEmpty(message = "At least one appointment must be provided")
+    private List<CreateAppointmentRequest> appointments;
+}
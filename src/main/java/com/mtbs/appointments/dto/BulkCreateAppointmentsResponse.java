@@ -0,0 +1,17 @@
+package com.mtbs.appointments.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkCreateAppointmentsResponse {
+
+    private int created;
+    private int failed;
+    private List<BulkItemResult> results; // one per request item, in request order
+}
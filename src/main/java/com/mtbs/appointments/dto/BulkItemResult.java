@@ -0,0 +1,28 @@
+package com.mtbs.appointments.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkItemResult {
+
+    public enum Status { CREATED, FAILED }
+
+    private int index; // position of the item in the request
+    private Status status;
+    private UUID id; // null unless CREATED
+    private String error; // null unless FAILED
+
+    public static BulkItemResult created(int index, UUID id) {
+        return new BulkItemResult(index, Status.CREATED, id, null);
+    }
+
+    public static BulkItemResult failed(int index, String error) {
+        return new BulkItemResult(index, Status.FAILED, null, error);
+    }
+}
@@ -0,0 +1,20 @@
+package com.mtbs.appointments.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class DaySlotsResponse {
+
+    private LocalDate date;
+    private List<String> bookedSlots;
+    // Base64 of a little-endian bitset: bit n (byte n / 8, bit n % 8) is set if a booked slot starts at minute n of the day
+    private String bitmap;
+
+}
@@ -0,0 +1,16 @@
+package com.mtbs.appointments.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class SlotsRangeResponse {
+
+    private List<DaySlotsResponse> days; // one entry per date from 'from' to 'to' inclusive
+
+}
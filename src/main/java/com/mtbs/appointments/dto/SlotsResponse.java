@@ -1,5 +1,6 @@
 package com.mtbs.appointments.dto;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -13,4 +14,8 @@ public class SlotsResponse {
 
     private List<String> bookedSlots;
 
+    /** Content tag of the day these slots were read from; used for the ETag, not serialized. */
+    @JsonIgnore
+    private String contentTag;
+
 }
@@ -0,0 +1,30 @@
+package com.mtbs.appointments.event;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Published inside the transaction that creates, updates or deletes an appointment.
+ * Listeners that keep derived state (indexes, caches, push channels) should use
+ * {@code @TransactionalEventListener} so they only see committed changes.
+ *
+ * @param before the appointment's time slot before the change; {@code null} on create
+ * @param after  the appointment's time slot after the change; {@code null} on delete
+ */
+public record AppointmentChangedEvent(UUID appointmentId, Occupancy before, Occupancy after) {
+
+    public record Occupancy(LocalDateTime start, int durationMinutes) {
+    }
+
+    public static AppointmentChangedEvent created(UUID appointmentId, Occupancy after) {
+        return new AppointmentChangedEvent(appointmentId, null, after);
+    }
+
+    public static AppointmentChangedEvent updated(UUID appointmentId, Occupancy before, Occupancy after) {
+        return new AppointmentChangedEvent(appointmentId, before, after);
+    }
+
+    public static AppointmentChangedEvent deleted(UUID appointmentId, Occupancy before) {
+        return new AppointmentChangedEvent(appointmentId, before, null);
+    }
+}
@@ -0,0 +1,12 @@
+package com.mtbs.appointments.exception;
+
+/**
+ * Thrown when an {@code Idempotency-Key} is sent again with a different request body than
+ * the one it was first used for. Mapped to HTTP 422.
+ */
+public class IdempotencyKeyReusedException extends RuntimeException {
+
+    public IdempotencyKeyReusedException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,12 @@
+package com.mtbs.appointments.exception;
+
+/**
+ * Thrown when a conditional request's precondition does not hold, e.g. an {@code If-Match}
+ * ETag that no longer matches the appointment's current version. Mapped to HTTP 412.
+ */
+public class PreconditionFailedException extends RuntimeException {
+
+    public PreconditionFailedException(String message) {
+        super(message);
+    }
+}
@@ -2,6 +2,8 @@ package com.mtbs.appointments.mapper;
 
 import com.mtbs.appointments.dto.*;
 import com.mtbs.appointments.model.Appointment;
+import com.mtbs.appointments.model.ArchivedAppointment;
+import com.mtbs.appointments.model.ArchivedServiceModel;
 import com.mtbs.appointments.model.ServiceModel;
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
@@ -35,5 +37,9 @@ public interface AppointmentMapper {
 
     ServiceDTO toServiceDto(ServiceModel serviceModel);
 
+    AppointmentResponse toResponseDto(ArchivedAppointment appointment);
+
+    ServiceDTO toServiceDto(ArchivedServiceModel serviceModel);
+
 }
 
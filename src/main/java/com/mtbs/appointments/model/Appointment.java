@@ -3,6 +3,7 @@ package com.mtbs.appointments.model;
 import com.fasterxml.jackson.annotation.JsonManagedReference;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.BatchSize;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
@@ -10,13 +11,17 @@ import java.util.List;
 import java.util.UUID;
 
 @Entity
+@Table(indexes = {
+        @Index(name = "idx_appointment_date_time", columnList = "dateTime"),
+        @Index(name = "idx_appointment_end_date_time", columnList = "endDateTime")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 public class Appointment {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
+    @UuidV7
     private UUID id;
 
     private String userId;
@@ -30,12 +35,25 @@ public class Appointment {
      * performed on an Appointment entity will be cascaded to its associated Service entities.
      * 'orphanRemoval = true': If a Service is removed from the 'services' collection of an Appointment,
      * and it's no longer referenced by any other Appointment, it will be automatically deleted from the database.
+     * '@BatchSize': When one lazy collection is initialised, up to 100 others in the persistence context
+     * are loaded with it in a single query.
      */
     @OneToMany(mappedBy = "appointment", cascade = CascadeType.ALL, orphanRemoval = true)
+    @BatchSize(size = 100)
     @JsonManagedReference
     private List<ServiceModel> services = new ArrayList<>();
 
     private LocalDateTime dateTime;
+
+    /**
+     * Sum of the services' durations and the resulting end time, kept in sync by
+     * {@link #refreshSchedule()} so range and overlap queries can filter on indexed columns
+     * instead of joining the services. Rows written before these columns existed are
+     * filled in by {@code AppointmentScheduleBackfill}.
+     */
+    private Integer totalDurationMinutes;
+    private LocalDateTime endDateTime;
+
     private Integer guests;
     private String notes;
     private String status;
@@ -53,6 +71,12 @@ public class Appointment {
         service.setAppointment(this);
     }
 
+    /** Recomputes {@code totalDurationMinutes} and {@code endDateTime} from the services and start time. */
+    public void refreshSchedule() {
+        totalDurationMinutes = services.stream().mapToInt(ServiceModel::getDurationInMinutes).sum();
+        endDateTime = dateTime == null ? null : dateTime.plusMinutes(totalDurationMinutes);
+    }
+
     public void setServices(List<ServiceModel> services) {
         this.services.clear();
         if (services != null) {
@@ -0,0 +1,42 @@
+package com.mtbs.appointments.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * One entry in the append-only log of appointment changes, written in the same transaction
+ * as the change itself. The sequence orders the log and is the cursor of the change feed.
+ * Each number is drawn from the database sequence as the entry is written, just before its
+ * transaction commits, so the order follows commit order across instances. A pooled
+ * allocation would give each instance its own block of numbers, and a consumer past another
+ * instance's block would skip entries committed later from a lower one.
+ */
+@Entity
+@Table(name = "appointment_change")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AppointmentChange {
+
+    public enum Type { CREATED, UPDATED, DELETED }
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "appointment_change_seq")
+    @SequenceGenerator(name = "appointment_change_seq", sequenceName = "appointment_change_seq", allocationSize = 1)
+    private Long sequence;
+
+    @Column(nullable = false)
+    private UUID appointmentId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 16)
+    private Type type;
+
+    @Column(nullable = false)
+    private LocalDateTime recordedAt;
+}
@@ -0,0 +1,52 @@
+package com.mtbs.appointments.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.BatchSize;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * An appointment moved out of the live {@code appointment} table by {@code AppointmentArchiver}.
+ * Same columns as {@link Appointment}, plus when it was archived; rows are only ever copied in
+ * with an {@code INSERT ... SELECT} and read back, so the version is a plain column here.
+ */
+@Entity
+@Table(name = "appointment_archive", indexes = {
+        @Index(name = "idx_appointment_archive_date_time", columnList = "dateTime")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ArchivedAppointment {
+
+    @Id
+    private UUID id;
+
+    private String userId;
+
+    @OneToMany
+    @JoinColumn(name = "appointment_id", insertable = false, updatable = false)
+    @BatchSize(size = 100)
+    private List<ArchivedServiceModel> services = new ArrayList<>();
+
+    private LocalDateTime dateTime;
+    private Integer totalDurationMinutes;
+    private LocalDateTime endDateTime;
+
+    private Integer guests;
+    private String notes;
+    private String status;
+
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+    private Double totalCost;
+    private Long version;
+
+    private LocalDateTime archivedAt;
+}
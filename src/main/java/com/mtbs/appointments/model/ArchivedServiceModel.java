@@ -0,0 +1,31 @@
+package com.mtbs.appointments.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+/** A {@link ServiceModel} row archived together with its appointment. */
+@Entity
+@Data
+@Table(name = "appointment_services_archive", indexes = {
+        @Index(name = "idx_appointment_services_archive_appointment", columnList = "appointment_id")
+})
+@NoArgsConstructor
+@AllArgsConstructor
+public class ArchivedServiceModel {
+
+    @Id
+    private UUID id;
+    private UUID serviceCatalogueId;
+
+    private String name;
+    private double price;
+    private String description;
+    private int durationInMinutes;
+
+    @Column(name = "appointment_id")
+    private UUID appointmentId;
+}
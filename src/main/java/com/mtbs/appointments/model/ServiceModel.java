@@ -16,7 +16,7 @@ import java.util.UUID;
 public class ServiceModel {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
+    @UuidV7
     private UUID id;
     private UUID serviceCatalogueId;
 
@@ -0,0 +1,21 @@
+package com.mtbs.appointments.model;
+
+import org.hibernate.annotations.IdGeneratorType;
+
+import java.lang.annotation.Retention;
+import java.lang.annotation.Target;
+
+import static java.lang.annotation.ElementType.FIELD;
+import static java.lang.annotation.ElementType.METHOD;
+import static java.lang.annotation.RetentionPolicy.RUNTIME;
+
+/**
+ * Generates the annotated {@code UUID} identifier with {@link UuidV7Generator}: time-ordered
+ * version 7 UUIDs, so new rows are appended to the end of the primary-key index instead of
+ * landing at random positions in it.
+ */
+@IdGeneratorType(UuidV7Generator.class)
+@Retention(RUNTIME)
+@Target({FIELD, METHOD})
+public @interface UuidV7 {
+}
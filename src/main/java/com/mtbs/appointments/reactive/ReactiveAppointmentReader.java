@@ -0,0 +1,136 @@
+package com.mtbs.appointments.reactive;
+
+import com.mtbs.appointments.dto.AppointmentResponse;
+import com.mtbs.appointments.dto.ServiceDTO;
+import com.mtbs.appointments.repository.AppointmentOccupancyView;
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.spi.Readable;
+import org.springframework.r2dbc.core.DatabaseClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.UUID;
+
+/**
+ * Non-blocking reads of appointments over R2DBC, against the same tables JPA maps. Each
+ * appointment is read together with its services in one joined query, and rows are
+ * folded into {@link AppointmentResponse}s the same shape {@code AppointmentMapper} produces.
+ */
+public class ReactiveAppointmentReader implements AutoCloseable {
+
+    private static final String SELECT_WITH_SERVICES = """
+            SELECT a.id, a.user_id, a.date_time, a.guests, a.notes, a.status, a.created_at, a.updated_at,
+                   a.total_cost, a.version, s.id AS service_id, s.name, s.description, s.price, s.duration_in_minutes
+            FROM appointment a
+            LEFT JOIN appointment_services s ON s.appointment_id = a.id
+            """;
+    private static final String SELECT_ARCHIVED_WITH_SERVICES = """
+            SELECT a.id, a.user_id, a.date_time, a.guests, a.notes, a.status, a.created_at, a.updated_at,
+                   a.total_cost, a.version, s.id AS service_id, s.name, s.description, s.price, s.duration_in_minutes
+            FROM appointment_archive a
+            LEFT JOIN appointment_services_archive s ON s.appointment_id = a.id
+            """;
+
+    private final ConnectionPool connectionPool;
+    private final DatabaseClient databaseClient;
+
+    public ReactiveAppointmentReader(ConnectionPool connectionPool) {
+        this.connectionPool = connectionPool;
+        this.databaseClient = DatabaseClient.create(connectionPool);
+    }
+
+    @Override
+    public void close() {
+        connectionPool.dispose();
+    }
+
+    /** Looks the appointment up in the live tables, then in the archive. */
+    public Mono<AppointmentResponse> findById(UUID id) {
+        return findById(SELECT_WITH_SERVICES, id)
+                .switchIfEmpty(Mono.defer(() -> findById(SELECT_ARCHIVED_WITH_SERVICES, id)));
+    }
+
+    private Mono<AppointmentResponse> findById(String select, UUID id) {
+        return databaseClient.sql(select + "WHERE a.id = :id")
+                .bind("id", id)
+                .map(ReactiveAppointmentReader::toRow)
+                .all()
+                .collectList()
+                .filter(rows -> !rows.isEmpty())
+                .map(ReactiveAppointmentReader::toResponse);
+    }
+
+    /**
+     * Streams every appointment in ID order. Rows are pulled from the database as the
+     * subscriber requests them, so a slow client slows the query instead of buffering it.
+     */
+    public Flux<AppointmentResponse> findAll() {
+        return databaseClient.sql(SELECT_WITH_SERVICES + "ORDER BY a.id")
+                .map(ReactiveAppointmentReader::toRow)
+                .all()
+                .bufferUntilChanged(row -> row.appointment().getId())
+                .map(ReactiveAppointmentReader::toResponse);
+    }
+
+    /** Start time and total duration of every appointment starting on the given date. */
+    public Flux<AppointmentOccupancyView> findOccupancy(LocalDate date) {
+        return databaseClient.sql("""
+                        SELECT a.id, a.date_time,
+                               COALESCE(a.total_duration_minutes,
+                                        (SELECT SUM(s.duration_in_minutes) FROM appointment_services s WHERE s.appointment_id = a.id),
+                                        0) AS total_duration_minutes
+                        FROM appointment a
+                        WHERE a.date_time >= :start AND a.date_time < :end
+                        """)
+                .bind("start", date.atStartOfDay())
+                .bind("end", date.plusDays(1).atStartOfDay())
+                .map(row -> new AppointmentOccupancyView(
+                        row.get("id", UUID.class),
+                        row.get("date_time", LocalDateTime.class),
+                        row.get("total_duration_minutes", Number.class).longValue()))
+                .all();
+    }
+
+    private static Row toRow(Readable row) {
+        AppointmentResponse appointment = new AppointmentResponse(
+                row.get("id", UUID.class),
+                row.get("user_id", String.class),
+                null,
+                row.get("date_time", LocalDateTime.class),
+                row.get("guests", Integer.class),
+                row.get("notes", String.class),
+                row.get("status", String.class),
+                row.get("created_at", LocalDateTime.class),
+                row.get("updated_at", LocalDateTime.class),
+                row.get("total_cost", Double.class),
+                version(row.get("version", Number.class)));
+        UUID serviceId = row.get("service_id", UUID.class);
+        ServiceDTO service = serviceId == null ? null : new ServiceDTO(
+                serviceId,
+                row.get("name", String.class),
+                row.get("description", String.class),
+                row.get("price", Double.class),
+                row.get("duration_in_minutes", Integer.class));
+        return new Row(appointment, service);
+    }
+
+    private static long version(Number version) {
+        return version == null ? 0L : version.longValue();
+    }
+
+    private static AppointmentResponse toResponse(List<Row> rows) {
+        AppointmentResponse response = rows.get(0).appointment();
+        response.setServices(new ArrayList<>(rows.size()));
+        rows.stream().map(Row::service).filter(Objects::nonNull).forEach(response.getServices()::add);
+        return response;
+    }
+
+    /** One appointment row joined with at most one of its services. */
+    private record Row(AppointmentResponse appointment, ServiceDTO service) {
+    }
+}
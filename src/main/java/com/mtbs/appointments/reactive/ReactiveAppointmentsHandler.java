@@ -0,0 +1,75 @@
+package com.mtbs.appointments.reactive;
+
+import com.mtbs.appointments.dto.AppointmentResponse;
+import com.mtbs.appointments.dto.SlotsResponse;
+import com.mtbs.appointments.slots.DayOccupancy;
+import com.mtbs.appointments.slots.SlotOccupancyIndex;
+import org.springframework.http.MediaType;
+import org.springframework.web.reactive.function.server.RouterFunction;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.UUID;
+
+import static org.springframework.web.reactive.function.server.RouterFunctions.route;
+
+/**
+ * Read-only appointment endpoints for the reactive server, mirroring the servlet paths:
+ * {@code GET /api/v1/appointments/{id}}, {@code GET /api/v1/appointments} (streamed as
+ * {@code application/x-ndjson}) and {@code GET /api/v1/appointments/slots?date=}.
+ * Slots come from the {@link SlotOccupancyIndex} when the date is indexed, and from an
+ * R2DBC query otherwise; no handler blocks.
+ */
+public class ReactiveAppointmentsHandler {
+
+    private final ReactiveAppointmentReader reader;
+    private final SlotOccupancyIndex slotOccupancyIndex;
+
+    public ReactiveAppointmentsHandler(ReactiveAppointmentReader reader, SlotOccupancyIndex slotOccupancyIndex) {
+        this.reader = reader;
+        this.slotOccupancyIndex = slotOccupancyIndex;
+    }
+
+    public RouterFunction<ServerResponse> routes() {
+        return route()
+                .GET("/api/v1/appointments/slots", this::bookedSlots)
+                .GET("/api/v1/appointments/{id}", this::appointment)
+                .GET("/api/v1/appointments", this::appointments)
+                .build();
+    }
+
+    Mono<ServerResponse> appointment(ServerRequest request) {
+        UUID id;
+        try {
+            id = UUID.fromString(request.pathVariable("id"));
+        } catch (IllegalArgumentException ex) {
+            return ServerResponse.badRequest().build();
+        }
+        return reader.findById(id)
+                .flatMap(appointment -> ServerResponse.ok().contentType(MediaType.APPLICATION_JSON).bodyValue(appointment))
+                .switchIfEmpty(ServerResponse.notFound().build());
+    }
+
+    Mono<ServerResponse> appointments(ServerRequest request) {
+        return ServerResponse.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(reader.findAll(), AppointmentResponse.class);
+    }
+
+    Mono<ServerResponse> bookedSlots(ServerRequest request) {
+        LocalDate date;
+        try {
+            date = LocalDate.parse(request.queryParam("date").orElseThrow(() -> new DateTimeParseException("missing", "", 0)));
+        } catch (DateTimeParseException ex) {
+            return ServerResponse.badRequest().build();
+        }
+        return Mono.justOrEmpty(slotOccupancyIndex.indexed(date))
+                .switchIfEmpty(reader.findOccupancy(date).collectList().map(DayOccupancy::unindexed))
+                .flatMap(day -> ServerResponse.ok()
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .bodyValue(new SlotsResponse(day.bookedSlots(), day.contentTag())));
+    }
+}
@@ -0,0 +1,69 @@
+package com.mtbs.appointments.reactive;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mtbs.appointments.slots.SlotOccupancyIndex;
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.ConnectionPoolConfiguration;
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactory;
+import io.r2dbc.spi.ConnectionFactoryOptions;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.codec.json.Jackson2JsonDecoder;
+import org.springframework.http.codec.json.Jackson2JsonEncoder;
+import org.springframework.web.reactive.function.server.HandlerStrategies;
+import org.springframework.web.reactive.function.server.RouterFunctions;
+
+import java.time.Duration;
+
+/**
+ * Opt-in non-blocking read path ({@code appointments.reactive.enabled}): an R2DBC pool over the
+ * same H2 database as JPA, and a Reactor Netty server on {@code appointments.reactive.port}
+ * serving {@link ReactiveAppointmentsHandler}. Writes stay on the servlet stack.
+ * <p>
+ * Boot's own R2DBC auto-configuration is excluded in {@code application.properties}: the
+ * connection factory it would create makes the JDBC DataSource back off, and its reactive
+ * transaction manager would compete with the JPA one.
+ */
+@Configuration
+@ConditionalOnProperty(name = "appointments.reactive.enabled", havingValue = "true")
+public class ReactiveReadConfig {
+
+    /**
+     * The R2DBC pool is owned by the reader rather than exposed as a bean: Boot backs off its
+     * JDBC DataSource when it sees a {@link ConnectionFactory} bean.
+     */
+    @Bean(destroyMethod = "close")
+    public ReactiveAppointmentReader reactiveAppointmentReader(
+            @Value("${appointments.reactive.r2dbc-url}") String url,
+            @Value("${spring.datasource.username:sa}") String username,
+            @Value("${spring.datasource.password:}") String password,
+            @Value("${appointments.reactive.pool.max-size:20}") int maxSize) {
+        ConnectionFactory connectionFactory = ConnectionFactories.get(ConnectionFactoryOptions.parse(url).mutate()
+                .option(ConnectionFactoryOptions.USER, username)
+                .option(ConnectionFactoryOptions.PASSWORD, password)
+                .build());
+        return new ReactiveAppointmentReader(new ConnectionPool(ConnectionPoolConfiguration.builder(connectionFactory)
+                .maxSize(maxSize)
+                .maxAcquireTime(Duration.ofSeconds(5))
+                .build()));
+    }
+
+    @Bean
+    public ReactiveReadServer reactiveReadServer(ReactiveAppointmentReader reactiveAppointmentReader,
+                                                 SlotOccupancyIndex slotOccupancyIndex,
+                                                 ObjectMapper objectMapper,
+                                                 @Value("${appointments.reactive.host:0.0.0.0}") String host,
+                                                 @Value("${appointments.reactive.port:8082}") int port) {
+        HandlerStrategies strategies = HandlerStrategies.builder()
+                .codecs(codecs -> {
+                    codecs.defaultCodecs().jackson2JsonEncoder(new Jackson2JsonEncoder(objectMapper));
+                    codecs.defaultCodecs().jackson2JsonDecoder(new Jackson2JsonDecoder(objectMapper));
+                })
+                .build();
+        ReactiveAppointmentsHandler handler = new ReactiveAppointmentsHandler(reactiveAppointmentReader, slotOccupancyIndex);
+        return new ReactiveReadServer(RouterFunctions.toHttpHandler(handler.routes(), strategies), host, port);
+    }
+}
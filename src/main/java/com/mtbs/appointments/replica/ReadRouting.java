@@ -0,0 +1,43 @@
+package com.mtbs.appointments.replica;
+
+import java.util.function.Supplier;
+
+/**
+ * Pins the current thread's reads to the primary database. With
+ * {@code appointments.replicas.enabled}, read-only transactions normally run on a replica;
+ * reads that fill a cache, or that must not miss a committed row, run inside
+ * {@link #onPrimary} so replica lag can't leak into them. Without replicas this is a no-op.
+ */
+public final class ReadRouting {
+
+    private static final ThreadLocal<Boolean> PRIMARY = new ThreadLocal<>();
+
+    private ReadRouting() {
+    }
+
+    public static <T> T onPrimary(Supplier<T> reads) {
+        try (Scope ignored = primary()) {
+            return reads.get();
+        }
+    }
+
+    /** Pins reads to the primary until the returned scope is closed. Scopes may nest. */
+    public static Scope primary() {
+        Boolean previous = PRIMARY.get();
+        PRIMARY.set(Boolean.TRUE);
+        return () -> {
+            if (previous == null) {
+                PRIMARY.remove();
+            }
+        };
+    }
+
+    public static boolean primaryRequired() {
+        return PRIMARY.get() != null;
+    }
+
+    public interface Scope extends AutoCloseable {
+        @Override
+        void close();
+    }
+}
@@ -0,0 +1,70 @@
+package com.mtbs.appointments.replica;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Opt-in read replicas ({@code appointments.replicas.enabled}): read-only transactions run on
+ * the databases listed in {@code appointments.replicas.urls}, writes on {@code spring.datasource}.
+ * Replicas use the primary's driver and credentials and are expected to be kept in sync with
+ * it outside this service.
+ * <p>
+ * Only the appointment listings actually read from replicas. Lookups by ID and the slot
+ * endpoints are answered from the appointment cache and the slot index. Being shared by all
+ * clients, these are loaded on the primary (see {@link ReadRouting}), as is the change feed.
+ * <p>
+ * Declaring the DataSource here makes Boot's own back off, so the primary pool is bound to
+ * {@code spring.datasource.hikari.*} here, as Boot would have done.
+ */
+@Configuration
+@ConditionalOnProperty(name = "appointments.replicas.enabled", havingValue = "true")
+public class ReplicaRoutingConfig {
+
+    @Bean(destroyMethod = "close")
+    public ReplicaRoutingDataSource dataSource(DataSourceProperties properties,
+                                               Environment environment,
+                                               @Value("${appointments.replicas.urls}") List<String> urls,
+                                               @Value("${appointments.replicas.pool.max-size:10}") int maxPoolSize,
+                                               MeterRegistry meterRegistry) {
+        HikariDataSource primary = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        primary.setPoolName("primary");
+        Binder.get(environment).bind("spring.datasource.hikari", Bindable.ofInstance(primary));
+        List<HikariDataSource> replicas = new ArrayList<>(urls.size());
+        for (String url : urls) {
+            HikariDataSource replica = new HikariDataSource();
+            replica.setPoolName("replica-" + replicas.size());
+            replica.setJdbcUrl(url.trim());
+            replica.setDriverClassName(properties.determineDriverClassName());
+            replica.setUsername(properties.determineUsername());
+            replica.setPassword(properties.determinePassword());
+            replica.setMaximumPoolSize(maxPoolSize);
+            replica.setReadOnly(true);
+            // Replicas can be missing at startup; connections are retried on use
+            replica.setInitializationFailTimeout(-1);
+            replica.setMetricRegistry(meterRegistry);
+            replicas.add(replica);
+        }
+        return new ReplicaRoutingDataSource(primary, replicas, meterRegistry);
+    }
+
+    @Bean
+    public FilterRegistrationBean<ReadYourWritesFilter> readYourWritesFilter(
+            @Value("${appointments.replicas.read-your-writes-window:PT5S}") Duration window) {
+        FilterRegistrationBean<ReadYourWritesFilter> registration = new FilterRegistrationBean<>(new ReadYourWritesFilter(window));
+        registration.addUrlPatterns("/api/*");
+        return registration;
+    }
+}
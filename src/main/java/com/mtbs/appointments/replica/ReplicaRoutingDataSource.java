@@ -0,0 +1,84 @@
+package com.mtbs.appointments.replica;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * The application's DataSource when read replicas are enabled. Connections are handed out
+ * lazily, so the target is only chosen at the first statement, once the transaction has
+ * marked the connection read-only or not. Read-write connections come from the primary.
+ * Read-only ones come from the replicas, round-robin, unless {@link ReadRouting} pins the
+ * thread to the primary; a replica that can't hand out a connection is skipped for the
+ * primary. Read connections are counted by target as {@code appointments.datasource.reads}.
+ */
+public class ReplicaRoutingDataSource extends LazyConnectionDataSourceProxy implements AutoCloseable {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReplicaRoutingDataSource.class);
+
+    private final HikariDataSource primary;
+    private final List<HikariDataSource> replicas;
+
+    public ReplicaRoutingDataSource(HikariDataSource primary, List<HikariDataSource> replicas, MeterRegistry meterRegistry) {
+        super(primary);
+        if (replicas.isEmpty()) {
+            throw new IllegalArgumentException("appointments.replicas.urls must name at least one replica");
+        }
+        this.primary = primary;
+        this.replicas = List.copyOf(replicas);
+        setReadOnlyDataSource(new ReadDataSource(meterRegistry));
+    }
+
+    @Override
+    public void close() {
+        replicas.forEach(HikariDataSource::close);
+        primary.close();
+    }
+
+    private final class ReadDataSource extends AbstractDataSource {
+
+        private final AtomicInteger next = new AtomicInteger();
+        private final Counter primaryReads;
+        private final Counter replicaReads;
+        private final Counter replicaFailures;
+
+        private ReadDataSource(MeterRegistry meterRegistry) {
+            this.primaryReads = meterRegistry.counter("appointments.datasource.reads", "target", "primary");
+            this.replicaReads = meterRegistry.counter("appointments.datasource.reads", "target", "replica");
+            this.replicaFailures = meterRegistry.counter("appointments.datasource.replica.failures");
+        }
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            if (ReadRouting.primaryRequired()) {
+                primaryReads.increment();
+                return primary.getConnection();
+            }
+            HikariDataSource replica = replicas.get(Math.floorMod(next.getAndIncrement(), replicas.size()));
+            try {
+                Connection connection = replica.getConnection();
+                replicaReads.increment();
+                return connection;
+            } catch (SQLException ex) {
+                replicaFailures.increment();
+                ReplicaRoutingDataSource.logger.warn("Replica {} unavailable, reading from the primary: {}", replica.getPoolName(), ex.getMessage());
+                primaryReads.increment();
+                return primary.getConnection();
+            }
+        }
+
+        @Override
+        public Connection getConnection(String username, String password) throws SQLException {
+            return getConnection();
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package com.mtbs.appointments.repository;
+
+import com.mtbs.appointments.model.AppointmentChange;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface AppointmentChangeRepository extends JpaRepository<AppointmentChange, Long> {
+
+    // A page of the change feed: a primary-key range scan, so its cost doesn't grow with the log
+    @Query("SELECT c FROM AppointmentChange c WHERE c.sequence > :since AND c.recordedAt <= :horizon ORDER BY c.sequence")
+    List<AppointmentChange> findAfter(long since, LocalDateTime horizon, Limit limit);
+}
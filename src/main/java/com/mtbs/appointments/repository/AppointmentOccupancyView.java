@@ -0,0 +1,11 @@
+package com.mtbs.appointments.repository;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Projection of an appointment's start time and the summed duration of its services,
+ * aggregated in SQL without loading {@code Appointment} or {@code ServiceModel} entities.
+ */
+public record AppointmentOccupancyView(UUID id, LocalDateTime dateTime, long totalDurationMinutes) {
+}
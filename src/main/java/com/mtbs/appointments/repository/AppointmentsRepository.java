@@ -1,15 +1,24 @@
 package com.mtbs.appointments.repository;
 
 import com.mtbs.appointments.model.Appointment;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 @Repository
 public interface AppointmentsRepository extends JpaRepository<Appointment, UUID> {
@@ -17,9 +26,71 @@ public interface AppointmentsRepository extends JpaRepository<Appointment, UUID>
     @Query("SELECT a FROM Appointment a LEFT JOIN FETCH a.services WHERE a.id = :id")
     Optional<Appointment> findByIdWithServices(UUID id);
 
+    // Cheap freshness check for conditional GETs: reads only the version column
+    @Query("SELECT a.version FROM Appointment a WHERE a.id = :id")
+    Optional<Long> findVersionById(UUID id);
+
     @Query("SELECT DISTINCT a FROM Appointment a LEFT JOIN FETCH a.services")
     List<Appointment> findAllWithServices();
 
     List<Appointment> findByDateTimeBetween(LocalDateTime start, LocalDateTime end);
 
+    // Occupancy of the appointments starting in [start, end); the services are only summed for rows not yet backfilled
+    @Query("SELECT new com.mtbs.appointments.repository.AppointmentOccupancyView(a.id, a.dateTime, " +
+            "COALESCE(a.totalDurationMinutes, (SELECT SUM(s.durationInMinutes) FROM ServiceModel s WHERE s.appointment = a), 0)) " +
+            "FROM Appointment a " +
+            "WHERE a.dateTime >= :start AND a.dateTime < :end")
+    List<AppointmentOccupancyView> findOccupancyByDateTimeRange(LocalDateTime start, LocalDateTime end);
+
+    // Appointments whose [dateTime, endDateTime) interval intersects [start, end)
+    @Query("SELECT a FROM Appointment a WHERE a.dateTime < :end AND a.endDateTime > :start ORDER BY a.dateTime, a.id")
+    List<Appointment> findOverlapping(LocalDateTime start, LocalDateTime end);
+
+    // Backfill of the denormalised schedule columns for rows written before they existed
+    @Query("SELECT a.id FROM Appointment a WHERE a.dateTime IS NOT NULL AND (a.totalDurationMinutes IS NULL OR a.endDateTime IS NULL)")
+    List<UUID> findIdsWithoutSchedule(Limit limit);
+
+    @Modifying
+    @Query("UPDATE Appointment a SET a.totalDurationMinutes = " +
+            "COALESCE((SELECT SUM(s.durationInMinutes) FROM ServiceModel s WHERE s.appointment = a), 0) " +
+            "WHERE a.id IN :ids")
+    int backfillTotalDuration(Collection<UUID> ids);
+
+    @Modifying
+    @Query("UPDATE Appointment a SET a.endDateTime = timestampadd(minute, a.totalDurationMinutes, a.dateTime) WHERE a.id IN :ids")
+    int backfillEndDateTime(Collection<UUID> ids);
+
+    // Keyset pagination: page IDs first, then fetch the page's graphs, so LIMIT is applied in SQL
+    @Query("SELECT a.id FROM Appointment a ORDER BY a.dateTime, a.id")
+    List<UUID> findFirstPageIds(Limit limit);
+
+    @Query("SELECT a.id FROM Appointment a " +
+            "WHERE a.dateTime > :dateTime OR (a.dateTime = :dateTime AND a.id > :id) " +
+            "ORDER BY a.dateTime, a.id")
+    List<UUID> findPageIdsAfter(LocalDateTime dateTime, UUID id, Limit limit);
+
+    @Query("SELECT DISTINCT a FROM Appointment a LEFT JOIN FETCH a.services WHERE a.id IN :ids ORDER BY a.dateTime, a.id")
+    List<Appointment> findAllWithServicesByIdIn(Collection<UUID> ids);
+
+    // Services are loaded per chunk through the @BatchSize on Appointment.services
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "100"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT a FROM Appointment a ORDER BY a.dateTime, a.id")
+    Stream<Appointment> streamAllOrdered();
+
+    // Archiving: the oldest appointments starting before the horizon, locked until their chunk is moved
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT a.id FROM Appointment a WHERE a.dateTime < :horizon ORDER BY a.dateTime, a.id")
+    List<UUID> findIdsStartingBefore(LocalDateTime horizon, Limit limit);
+
+    @Modifying
+    @Query("DELETE FROM ServiceModel s WHERE s.appointment.id IN :ids")
+    int deleteServicesByAppointmentIdIn(Collection<UUID> ids);
+
+    @Modifying
+    @Query("DELETE FROM Appointment a WHERE a.id IN :ids")
+    int deleteByIdIn(Collection<UUID> ids);
+
 }
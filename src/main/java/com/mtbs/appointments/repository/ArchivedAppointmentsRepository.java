@@ -0,0 +1,37 @@
+package com.mtbs.appointments.repository;
+
+import com.mtbs.appointments.model.ArchivedAppointment;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Optional;
+import java.util.UUID;
+
+@Repository
+public interface ArchivedAppointmentsRepository extends JpaRepository<ArchivedAppointment, UUID> {
+
+    @Query("SELECT a FROM ArchivedAppointment a LEFT JOIN FETCH a.services WHERE a.id = :id")
+    Optional<ArchivedAppointment> findByIdWithServices(UUID id);
+
+    @Query("SELECT a.version FROM ArchivedAppointment a WHERE a.id = :id")
+    Optional<Long> findVersionById(UUID id);
+
+    // Archiving copies rows set-based, without loading them; the appointments go first so the services' foreign key holds
+    @Modifying
+    @Query("INSERT INTO ArchivedAppointment (id, userId, dateTime, totalDurationMinutes, endDateTime, guests, notes, status, " +
+            "createdAt, updatedAt, totalCost, version, archivedAt) " +
+            "SELECT a.id, a.userId, a.dateTime, a.totalDurationMinutes, a.endDateTime, a.guests, a.notes, a.status, " +
+            "a.createdAt, a.updatedAt, a.totalCost, a.version, :archivedAt " +
+            "FROM Appointment a WHERE a.id IN :ids")
+    int copyAppointments(Collection<UUID> ids, LocalDateTime archivedAt);
+
+    @Modifying
+    @Query("INSERT INTO ArchivedServiceModel (id, serviceCatalogueId, name, price, description, durationInMinutes, appointmentId) " +
+            "SELECT s.id, s.serviceCatalogueId, s.name, s.price, s.description, s.durationInMinutes, s.appointment.id " +
+            "FROM ServiceModel s WHERE s.appointment.id IN :ids")
+    int copyServices(Collection<UUID> ids);
+}
@@ -0,0 +1,138 @@
+package com.mtbs.appointments.service;
+
+import com.mtbs.appointments.repository.AppointmentsRepository;
+import com.mtbs.appointments.repository.ArchivedAppointmentsRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Moves appointments that started more than {@code appointments.archive.horizon} ago out of
+ * the live tables into {@code appointment_archive} and {@code appointment_services_archive},
+ * so range queries, listings and indexes only cover current bookings.
+ * <p>
+ * Runs every {@code appointments.archive.interval}. Appointments are moved oldest first, in
+ * chunks of {@code appointments.archive.chunk-size}, each copied and deleted in its own short
+ * transaction that locks only that chunk's rows, so concurrent bookings are never held up for
+ * long. Lookups by ID fall back to the archive; listings, slots and the change feed cover the
+ * live tables only, and archived appointments can no longer be updated or deleted.
+ * Moved appointments are counted by {@code appointments.archive.archived}.
+ */
+@Component
+public class AppointmentArchiver implements ApplicationRunner {
+
+    private static final Logger logger = LoggerFactory.getLogger(AppointmentArchiver.class);
+
+    private final AppointmentsRepository appointmentsRepository;
+    private final ArchivedAppointmentsRepository archivedAppointmentsRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean enabled;
+    private final Duration horizon;
+    private final Duration interval;
+    private final int chunkSize;
+    private final Counter archived;
+
+    private volatile Disposable scheduler;
+
+    public AppointmentArchiver(AppointmentsRepository appointmentsRepository,
+                               ArchivedAppointmentsRepository archivedAppointmentsRepository,
+                               PlatformTransactionManager transactionManager,
+                               @Value("${appointments.archive.enabled:true}") boolean enabled,
+                               @Value("${appointments.archive.horizon:P90D}") Duration horizon,
+                               @Value("${appointments.archive.interval:PT1H}") Duration interval,
+                               @Value("${appointments.archive.chunk-size:500}") int chunkSize,
+                               MeterRegistry meterRegistry) {
+        if (chunkSize <= 0) {
+            throw new IllegalArgumentException("appointments.archive.chunk-size must be positive");
+        }
+        this.appointmentsRepository = appointmentsRepository;
+        this.archivedAppointmentsRepository = archivedAppointmentsRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.enabled = enabled;
+        this.horizon = horizon;
+        this.interval = interval;
+        this.chunkSize = chunkSize;
+        this.archived = Counter.builder("appointments.archive.archived")
+                .description("Appointments moved to the archive tables")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!enabled) {
+            return;
+        }
+        // archive() blocks, so tick on a scheduler that allows it
+        scheduler = Flux.interval(interval, interval, Schedulers.boundedElastic())
+                .concatMap(tick -> Mono.fromRunnable(this::archiveLogged))
+                .subscribe();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (scheduler != null) {
+            scheduler.dispose();
+        }
+    }
+
+    /** Archives every appointment that started before the horizon and returns how many were moved. */
+    public int archive() {
+        return archiveBefore(LocalDateTime.now().minus(horizon));
+    }
+
+    /** Archives every appointment that started before {@code cutoff} and returns how many were moved. */
+    public int archiveBefore(LocalDateTime cutoff) {
+        int moved = 0;
+        while (true) {
+            Integer chunk = transactionTemplate.execute(status -> {
+                List<UUID> ids = appointmentsRepository.findIdsStartingBefore(cutoff, Limit.of(chunkSize));
+                if (ids.isEmpty()) {
+                    return 0;
+                }
+                archivedAppointmentsRepository.copyAppointments(ids, LocalDateTime.now());
+                archivedAppointmentsRepository.copyServices(ids);
+                appointmentsRepository.deleteServicesByAppointmentIdIn(ids);
+                return appointmentsRepository.deleteByIdIn(ids);
+            });
+            if (chunk == null || chunk == 0) {
+                break;
+            }
+            moved += chunk;
+            archived.increment(chunk);
+            if (chunk < chunkSize) {
+                break;
+            }
+        }
+        if (moved > 0) {
+            logger.info("Archived {} appointment(s) that started before {}", moved, cutoff);
+        }
+        return moved;
+    }
+
+    private void archiveLogged() {
+        try {
+            archive();
+        } catch (RuntimeException ex) {
+            // Moved chunks stay moved; the rest is picked up on the next run
+            logger.warn("Archiving appointments failed: {}", ex.getMessage());
+        }
+    }
+}
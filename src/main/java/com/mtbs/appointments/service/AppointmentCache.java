@@ -0,0 +1,95 @@
+package com.mtbs.appointments.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.mtbs.appointments.dto.AppointmentResponse;
+import com.mtbs.appointments.event.AppointmentChangedEvent;
+import com.mtbs.appointments.replica.ReadRouting;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Bounded in-process cache of mapped {@link AppointmentResponse}s, keyed by appointment ID,
+ * so repeated reads of the same appointment skip the join-fetch and the mapping.
+ * <p>
+ * Entries are dropped once a change to the appointment commits through this instance. A read
+ * that started before that commit may have loaded the old row, so a loaded value is only
+ * installed if no change committed while it was being loaded, and never replaces an entry
+ * with a newer version. Changes made elsewhere (another instance, SQL that bypasses the
+ * service) send no event, so every hit is checked against the appointment's current version
+ * first, a single primary-key lookup, and reloaded if it is behind. Loads and version checks
+ * read from the primary, as a replica could still hold the row from before the change. The
+ * TTL only bounds how long unused entries hold memory. Cached responses are shared; callers
+ * must not modify them. Meters are the {@code cache.*} meters tagged
+ * {@code cache=appointments}, plus {@code appointments.cache.hit.ratio}.
+ */
+@Component
+public class AppointmentCache {
+
+    private final Cache<UUID, AppointmentResponse> cache;
+    private final AtomicLong changes = new AtomicLong();
+
+    public AppointmentCache(@Value("${appointments.cache.maximum-size:10000}") long maximumSize,
+                            @Value("${appointments.cache.ttl:PT10M}") Duration ttl,
+                            MeterRegistry meterRegistry) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "appointments");
+        Gauge.builder("appointments.cache.hit.ratio", cache, c -> c.stats().hitRate())
+                .description("Share of appointment reads answered from the cache")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Returns the cached appointment if it is still at the version {@code currentVersion}
+     * reports, or loads it with {@code loader} and caches the result. Missing appointments
+     * are not cached.
+     */
+    public Optional<AppointmentResponse> get(UUID id, Supplier<Optional<Long>> currentVersion,
+                                             Supplier<Optional<AppointmentResponse>> loader) {
+        AppointmentResponse cached = cache.getIfPresent(id);
+        if (cached != null) {
+            Optional<Long> version = ReadRouting.onPrimary(currentVersion);
+            if (version.isPresent() && version.get().equals(cached.getVersion())) {
+                return Optional.of(cached);
+            }
+            cache.asMap().remove(id, cached);
+        }
+        long observed = changes.get();
+        Optional<AppointmentResponse> loaded = ReadRouting.onPrimary(loader);
+        loaded.ifPresent(response -> install(id, response, observed));
+        return loaded;
+    }
+
+    public long size() {
+        return cache.estimatedSize();
+    }
+
+    @TransactionalEventListener
+    public void onAppointmentChanged(AppointmentChangedEvent event) {
+        changes.incrementAndGet();
+        cache.invalidate(event.appointmentId());
+    }
+
+    private void install(UUID id, AppointmentResponse loaded, long observed) {
+        cache.asMap().compute(id, (key, existing) -> {
+            if (existing != null && existing.getVersion() >= loaded.getVersion()) {
+                return existing;
+            }
+            return changes.get() == observed ? loaded : existing;
+        });
+    }
+}
@@ -0,0 +1,39 @@
+package com.mtbs.appointments.service;
+
+import com.mtbs.appointments.event.AppointmentChangedEvent;
+import com.mtbs.appointments.model.AppointmentChange;
+import com.mtbs.appointments.repository.AppointmentChangeRepository;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDateTime;
+
+/**
+ * Appends an {@link AppointmentChange} for every {@link AppointmentChangedEvent}. It runs just
+ * before the changing transaction commits, inside it, so an entry exists exactly when its
+ * change does; a delete is recorded as a {@code DELETED} tombstone. Allocating the sequence
+ * this late also keeps the gap between taking a sequence number and committing it short,
+ * which the change feed's settle time relies on.
+ */
+@Component
+public class AppointmentChangeLog {
+
+    private final AppointmentChangeRepository appointmentChangeRepository;
+
+    public AppointmentChangeLog(AppointmentChangeRepository appointmentChangeRepository) {
+        this.appointmentChangeRepository = appointmentChangeRepository;
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
+    public void onAppointmentChanged(AppointmentChangedEvent event) {
+        appointmentChangeRepository.save(new AppointmentChange(null, event.appointmentId(), typeOf(event), LocalDateTime.now()));
+    }
+
+    private static AppointmentChange.Type typeOf(AppointmentChangedEvent event) {
+        if (event.before() == null) {
+            return AppointmentChange.Type.CREATED;
+        }
+        return event.after() == null ? AppointmentChange.Type.DELETED : AppointmentChange.Type.UPDATED;
+    }
+}
@@ -0,0 +1,72 @@
+package com.mtbs.appointments.service;
+
+import com.mtbs.appointments.repository.AppointmentsRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Fills in {@code totalDurationMinutes} and {@code endDateTime} for appointments stored
+ * before those columns existed (e.g. the H2 file database under {@code data/}). Runs once
+ * at startup, before the slot index is warmed, in chunks of
+ * {@code appointments.schedule.backfill.chunk-size} rows, each in its own short transaction.
+ * Rows written by the service already have both columns set, so on an up-to-date database
+ * this is a single empty query.
+ */
+@Component
+public class AppointmentScheduleBackfill implements ApplicationRunner {
+
+    private static final Logger logger = LoggerFactory.getLogger(AppointmentScheduleBackfill.class);
+
+    private final AppointmentsRepository appointmentsRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean enabled;
+    private final int chunkSize;
+
+    public AppointmentScheduleBackfill(AppointmentsRepository appointmentsRepository,
+                                       PlatformTransactionManager transactionManager,
+                                       @Value("${appointments.schedule.backfill.enabled:true}") boolean enabled,
+                                       @Value("${appointments.schedule.backfill.chunk-size:500}") int chunkSize) {
+        this.appointmentsRepository = appointmentsRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.enabled = enabled;
+        this.chunkSize = chunkSize;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (enabled) {
+            backfill();
+        }
+    }
+
+    /** Backfills every row missing its schedule columns and returns how many were updated. */
+    public int backfill() {
+        int updated = 0;
+        while (true) {
+            Integer chunk = transactionTemplate.execute(status -> {
+                List<UUID> ids = appointmentsRepository.findIdsWithoutSchedule(Limit.of(chunkSize));
+                if (ids.isEmpty()) {
+                    return 0;
+                }
+                appointmentsRepository.backfillTotalDuration(ids);
+                return appointmentsRepository.backfillEndDateTime(ids);
+            });
+            if (chunk == null || chunk == 0) {
+                break;
+            }
+            updated += chunk;
+            logger.info("Backfilled schedule columns for {} appointment(s) so far", updated);
+        }
+        return updated;
+    }
+}
@@ -1,7 +1,12 @@
 package com.mtbs.appointments.service;
 
+import com.mtbs.appointments.dto.AppointmentChangesResponse;
+import com.mtbs.appointments.dto.AppointmentPageResponse;
+import com.mtbs.appointments.dto.BulkCreateAppointmentsResponse;
 import com.mtbs.appointments.dto.AppointmentResponse;
+import com.mtbs.appointments.dto.AvailableSlotsResponse;
 import com.mtbs.appointments.dto.CreateAppointmentRequest;
+import com.mtbs.appointments.dto.SlotsRangeResponse;
 import com.mtbs.appointments.dto.SlotsResponse;
 import com.mtbs.appointments.dto.UpdateAppointmentRequest;
 import com.mtbs.appointments.model.Appointment;
@@ -10,18 +15,50 @@ import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.function.Consumer;
 
 public interface AppointmentsService {
 
     AppointmentResponse createAppointment(CreateAppointmentRequest request);
 
+    BulkCreateAppointmentsResponse bulkCreateAppointments(List<CreateAppointmentRequest> requests);
+
     List<AppointmentResponse> getAllAppointments();
 
+    AppointmentPageResponse getAppointmentsPage(String cursor, int limit);
+
+    void streamAllAppointments(Consumer<AppointmentResponse> consumer);
+
+    /**
+     * Up to {@code limit} changes recorded after the {@code since} cursor (from the start of
+     * the log if {@code null}), with the cursor to continue from.
+     */
+    AppointmentChangesResponse getChanges(String since, int limit);
+
     Optional<AppointmentResponse> getAppointmentById(UUID id);
 
-    AppointmentResponse updateAppointment(UUID id, UpdateAppointmentRequest updatedRequest);
+    /** The appointment's current version, read without loading the appointment itself. */
+    Optional<Long> getAppointmentVersion(UUID id);
+
+    default AppointmentResponse updateAppointment(UUID id, UpdateAppointmentRequest updatedRequest) {
+        return updateAppointment(id, updatedRequest, null);
+    }
+
+    /**
+     * Updates the appointment only if its version still equals {@code expectedVersion}
+     * (any version if {@code null}); otherwise fails with {@code PreconditionFailedException}.
+     */
+    AppointmentResponse updateAppointment(UUID id, UpdateAppointmentRequest updatedRequest, Long expectedVersion);
 
     void deleteAppointment(UUID id);
 
     SlotsResponse getBookedSlots(LocalDate date);
+
+    SlotsRangeResponse getBookedSlotsRange(LocalDate from, LocalDate to);
+
+    /**
+     * The next {@code count} start times from {@code from} onwards with enough contiguous free
+     * time for all of the given services, within opening hours.
+     */
+    AvailableSlotsResponse findAvailableSlots(List<UUID> serviceIds, LocalDate from, int count);
 }
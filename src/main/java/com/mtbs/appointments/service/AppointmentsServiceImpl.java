@@ -1,84 +1,207 @@
 package com.mtbs.appointments.service;
 
+import com.mtbs.appointments.catalogue.CatalogueClient;
 import com.mtbs.appointments.dto.*;
+import com.mtbs.appointments.event.AppointmentChangedEvent;
+import com.mtbs.appointments.event.AppointmentChangedEvent.Occupancy;
 import com.mtbs.appointments.exception.*;
 import com.mtbs.appointments.mapper.AppointmentMapper;
 import com.mtbs.appointments.model.Appointment;
+import com.mtbs.appointments.model.AppointmentChange;
 import com.mtbs.appointments.model.ServiceModel;
+import com.mtbs.appointments.replica.ReadRouting;
+import com.mtbs.appointments.repository.AppointmentChangeRepository;
 import com.mtbs.appointments.repository.AppointmentsRepository;
+import com.mtbs.appointments.repository.ArchivedAppointmentsRepository;
+import com.mtbs.appointments.slots.AvailableSlotSearch;
+import com.mtbs.appointments.slots.DayOccupancy;
+import com.mtbs.appointments.slots.SlotOccupancyIndex;
+import io.micrometer.core.annotation.Timed;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.Validator;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.dao.DataAccessException;
-import org.springframework.http.HttpStatusCode;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionException;
 import org.springframework.transaction.annotation.Transactional;
-import org.springframework.web.reactive.function.client.WebClient;
-import reactor.core.publisher.Flux;
-import reactor.core.publisher.Mono;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.time.Duration;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
 import java.util.*;
-
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Every public method is timed as {@code appointments.service}, tagged with class, method
+ * and exception, with a percentile histogram for latency quantiles.
+ */
 @Service
+@Timed(value = "appointments.service", histogram = true)
 public class AppointmentsServiceImpl implements AppointmentsService {
 
     private static final Logger logger = LoggerFactory.getLogger(AppointmentsServiceImpl.class);
+    private static final int MAX_PAGE_SIZE = 500;
+    private static final int STREAM_CHUNK_SIZE = 100;
+    private static final int MAX_SLOT_RANGE_DAYS = 62;
+    private static final int MAX_AVAILABLE_SLOTS = 50;
     private final AppointmentsRepository appointmentsRepository;
+    private final AppointmentChangeRepository appointmentChangeRepository;
+    private final ArchivedAppointmentsRepository archivedAppointmentsRepository;
     private final AppointmentMapper appointmentMapper;
-    private final WebClient catalogueServiceWebClient;
+    private final CatalogueClient catalogueClient;
+    private final TransactionTemplate transactionTemplate;
+    private final EntityManager entityManager;
+    private final SlotOccupancyIndex slotOccupancyIndex;
+    private final AvailableSlotSearch availableSlotSearch;
+    private final AppointmentCache appointmentCache;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Validator validator;
+    private final int bulkChunkSize;
+    private final int maxBulkSize;
+    private final Duration changesSettleTime;
 
     @Autowired
-    public AppointmentsServiceImpl(AppointmentsRepository appointmentsRepository, AppointmentMapper appointmentMapper, WebClient catalogueServiceWebClient) {
+    public AppointmentsServiceImpl(AppointmentsRepository appointmentsRepository, AppointmentChangeRepository appointmentChangeRepository, ArchivedAppointmentsRepository archivedAppointmentsRepository, AppointmentMapper appointmentMapper, CatalogueClient catalogueClient, PlatformTransactionManager transactionManager, EntityManager entityManager, SlotOccupancyIndex slotOccupancyIndex, AvailableSlotSearch availableSlotSearch, AppointmentCache appointmentCache, ApplicationEventPublisher eventPublisher, Validator validator,
+                                   @Value("${appointments.bulk.chunk-size:100}") int bulkChunkSize,
+                                   @Value("${appointments.bulk.maximum-size:1000}") int maxBulkSize,
+                                   @Value("${appointments.changes.settle-time:PT1S}") Duration changesSettleTime) {
         this.appointmentsRepository = appointmentsRepository;
+        this.appointmentChangeRepository = appointmentChangeRepository;
+        this.archivedAppointmentsRepository = archivedAppointmentsRepository;
         this.appointmentMapper = appointmentMapper;
-        this.catalogueServiceWebClient = catalogueServiceWebClient;
+        this.catalogueClient = catalogueClient;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.entityManager = entityManager;
+        this.slotOccupancyIndex = slotOccupancyIndex;
+        this.availableSlotSearch = availableSlotSearch;
+        this.appointmentCache = appointmentCache;
+        this.eventPublisher = eventPublisher;
+        this.validator = validator;
+        this.bulkChunkSize = bulkChunkSize;
+        this.maxBulkSize = maxBulkSize;
+        this.changesSettleTime = changesSettleTime;
     }
 
+    /**
+     * Not {@code @Transactional}: the catalogue round-trip happens before any connection is
+     * taken from the pool, and only the final insert runs in a (short) write transaction.
+     */
     @Override
-    @Transactional
     public AppointmentResponse createAppointment(CreateAppointmentRequest request) {
         try {
-            // Step 1: Fetch and validate services from the catalogue
+            // Step 1: Fetch and validate services from the catalogue, outside any transaction
             List<ServiceCatalogueResponse> fetchedServices = fetchAndVerifyServices(request.getServiceIds());
 
             // Step 2: Build the complete Appointment object graph in memory
-            Appointment appointment = new Appointment();
-            appointment.setUserId(request.getUserId());
-            appointment.setDateTime(request.getDateTime());
-            appointment.setNotes(request.getNotes());
-            appointment.setGuests(request.getGuests());
-            appointment.setCreatedAt(LocalDateTime.now());
-            appointment.setUpdatedAt(LocalDateTime.now());
-            appointment.setStatus("Confirmed");
-
-            List<ServiceModel> serviceModels = fetchedServices.stream()
-                    .peek(fs -> {
-                        if (!fs.isActive()) throw new AppointmentCreationException("Service '" + fs.getName() + "' is currently inactive.");
-                    })
-                    .map(appointmentMapper::toServiceModel)
-                    .peek(sm -> sm.setAppointment(appointment)) // Set the back-reference
-                    .toList();
-
-            serviceModels.forEach(appointment::addService); // Set the children on the parent
-
-            double totalCost = serviceModels.stream().mapToDouble(ServiceModel::getPrice).sum();
-            appointment.setTotalCost(totalCost);
-
-            // Step 3: Persist the entire object graph in a single operation
-            Appointment savedAppointment = appointmentsRepository.save(appointment);
+            Appointment appointment = buildAppointment(request, fetchedServices);
+
+            // Step 3: Persist the entire object graph in a single short transaction
+            Appointment savedAppointment = transactionTemplate.execute(status -> {
+                Appointment saved = appointmentsRepository.save(appointment);
+                eventPublisher.publishEvent(AppointmentChangedEvent.created(saved.getId(), occupancyOf(saved)));
+                return saved;
+            });
             logger.info("Successfully created appointment {} for user {}", savedAppointment.getId(), request.getUserId());
 
             return appointmentMapper.toResponseDto(savedAppointment);
 
+        } catch (ServiceUnavailableException e) {
+            // The catalogue is down or its circuit is open: a 503, not a failed booking
+            throw e;
         } catch (Exception e) {
             logger.error("Failed to create appointment for user {}: {}", request.getUserId(), e.getMessage(), e);
             throw new AppointmentCreationException("An unexpected error occurred during appointment creation.", e);
         }
     }
 
+    /**
+     * Creates many appointments in one call. Each distinct service ID across the whole batch
+     * is looked up once, outside any transaction. Items are validated individually, and
+     * valid ones are saved in chunks of {@code appointments.bulk.chunk-size}. Each chunk runs
+     * in its own transaction, so Hibernate can send its inserts as JDBC batches. An invalid
+     * item or a failed chunk only fails those items; every item gets a result.
+     */
+    @Override
+    public BulkCreateAppointmentsResponse bulkCreateAppointments(List<CreateAppointmentRequest> requests) {
+        if (requests.size() > maxBulkSize) {
+            throw new IllegalArgumentException("A bulk request may contain at most " + maxBulkSize + " appointments");
+        }
+        logger.info("Bulk creating {} appointment(s)", requests.size());
+        BulkItemResult[] results = new BulkItemResult[requests.size()];
+
+        List<UUID> serviceIds = new ArrayList<>();
+        for (int i = 0; i < requests.size(); i++) {
+            CreateAppointmentRequest request = requests.get(i);
+            String violations = request == null ? "Appointment must not be null" : validator.validate(request).stream()
+                    .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                    .sorted()
+                    .collect(Collectors.joining("; "));
+            if (!violations.isEmpty()) {
+                results[i] = BulkItemResult.failed(i, violations);
+            } else {
+                serviceIds.addAll(request.getServiceIds());
+            }
+        }
+        Map<UUID, ServiceCatalogueResponse> catalogue = catalogueClient.fetchServicesById(serviceIds);
+
+        List<Integer> indexes = new ArrayList<>();
+        List<Appointment> appointments = new ArrayList<>();
+        for (int i = 0; i < requests.size(); i++) {
+            if (results[i] != null) {
+                continue;
+            }
+            CreateAppointmentRequest request = requests.get(i);
+            try {
+                List<ServiceCatalogueResponse> services = new ArrayList<>();
+                for (UUID serviceId : request.getServiceIds()) {
+                    ServiceCatalogueResponse service = catalogue.get(serviceId);
+                    if (service == null) {
+                        throw new AppointmentCreationException("Service with ID " + serviceId + " not found in catalogue.");
+                    }
+                    services.add(service);
+                }
+                services.sort(Comparator.comparing(ServiceCatalogueResponse::getName));
+                appointments.add(buildAppointment(request, services));
+                indexes.add(i);
+            } catch (AppointmentCreationException e) {
+                results[i] = BulkItemResult.failed(i, e.getMessage());
+            }
+        }
+
+        for (int from = 0; from < appointments.size(); from += bulkChunkSize) {
+            int to = Math.min(from + bulkChunkSize, appointments.size());
+            List<Appointment> chunk = appointments.subList(from, to);
+            List<Integer> chunkIndexes = indexes.subList(from, to);
+            try {
+                transactionTemplate.executeWithoutResult(status -> {
+                    appointmentsRepository.saveAll(chunk);
+                    chunk.forEach(saved -> eventPublisher.publishEvent(AppointmentChangedEvent.created(saved.getId(), occupancyOf(saved))));
+                });
+                for (int j = 0; j < chunk.size(); j++) {
+                    results[chunkIndexes.get(j)] = BulkItemResult.created(chunkIndexes.get(j), chunk.get(j).getId());
+                }
+            } catch (DataAccessException | TransactionException e) {
+                logger.error("Failed to save bulk chunk of {} appointment(s): {}", chunk.size(), e.getMessage(), e);
+                chunkIndexes.forEach(index -> results[index] = BulkItemResult.failed(index, "Could not save appointment: " + e.getMostSpecificCause().getMessage()));
+            }
+        }
+
+        int created = (int) Arrays.stream(results).filter(result -> result.getStatus() == BulkItemResult.Status.CREATED).count();
+        logger.info("Bulk create finished: {} created, {} failed", created, results.length - created);
+        return new BulkCreateAppointmentsResponse(created, results.length - created, Arrays.asList(results));
+    }
+
     @Override
     @Transactional(readOnly = true)
     public List<AppointmentResponse> getAllAppointments() {
@@ -88,40 +211,188 @@ public class AppointmentsServiceImpl implements AppointmentsService {
 
     @Override
     @Transactional(readOnly = true)
-    public Optional<AppointmentResponse> getAppointmentById(UUID id) {
-        logger.info("Fetching appointment by ID with services: {}", id);
-        return appointmentsRepository.findByIdWithServices(id).map(appointmentMapper::toResponseDto);
+    public AppointmentPageResponse getAppointmentsPage(String cursor, int limit) {
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("limit must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        logger.info("Fetching page of up to {} appointments after cursor {}", limit, cursor);
+
+        // Ask for one extra ID to learn whether another page follows
+        List<UUID> ids;
+        if (cursor == null || cursor.isBlank()) {
+            ids = appointmentsRepository.findFirstPageIds(Limit.of(limit + 1));
+        } else {
+            AppointmentCursor after = AppointmentCursor.decode(cursor);
+            ids = appointmentsRepository.findPageIdsAfter(after.dateTime(), after.id(), Limit.of(limit + 1));
+        }
+        boolean hasMore = ids.size() > limit;
+        if (hasMore) {
+            ids = ids.subList(0, limit);
+        }
+
+        List<Appointment> appointments = ids.isEmpty() ? List.of() : appointmentsRepository.findAllWithServicesByIdIn(ids);
+        String nextCursor = null;
+        if (hasMore) {
+            Appointment last = appointments.get(appointments.size() - 1);
+            nextCursor = new AppointmentCursor(last.getDateTime(), last.getId()).encode();
+        }
+        return new AppointmentPageResponse(appointmentMapper.toDtoList(appointments), nextCursor);
     }
 
+    /**
+     * Streams every appointment in (dateTime, id) order. Rows are read in chunks; each chunk's
+     * services are loaded with one batch query and the persistence context is cleared after
+     * the chunk is handed to the consumer, so memory use does not grow with the table.
+     */
     @Override
-    @Transactional
-    public AppointmentResponse updateAppointment(UUID id, UpdateAppointmentRequest request) {
+    @Transactional(readOnly = true)
+    public void streamAllAppointments(Consumer<AppointmentResponse> consumer) {
+        logger.info("Streaming all appointments");
+        List<Appointment> chunk = new ArrayList<>(STREAM_CHUNK_SIZE);
+        try (Stream<Appointment> appointments = appointmentsRepository.streamAllOrdered()) {
+            Iterator<Appointment> iterator = appointments.iterator();
+            while (iterator.hasNext()) {
+                chunk.add(iterator.next());
+                if (chunk.size() == STREAM_CHUNK_SIZE || !iterator.hasNext()) {
+                    chunk.forEach(appointment -> consumer.accept(appointmentMapper.toResponseDto(appointment)));
+                    chunk.clear();
+                    entityManager.clear();
+                }
+            }
+        }
+    }
+
+    /**
+     * Reads the change log after {@code since}, so a sync costs time proportional to what
+     * changed. Each appointment appears at most once per page, at its latest change, with
+     * its current state; a change to an appointment deleted since is skipped, as its
+     * tombstone follows. Entries younger than {@code appointments.changes.settle-time} are
+     * held back: a transaction that took its sequence number earlier may still be committing.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public AppointmentChangesResponse getChanges(String since, int limit) {
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("limit must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        long after = parseChangeCursor(since);
+        logger.debug("Fetching up to {} changes after {}", limit, after);
+
+        // A lagging replica could lack entries below the cursor it hands out, so the feed reads from the primary
+        try (ReadRouting.Scope ignored = ReadRouting.primary()) {
+            List<AppointmentChange> changes = appointmentChangeRepository.findAfter(
+                    after, LocalDateTime.now().minus(changesSettleTime), Limit.of(limit + 1));
+            boolean hasMore = changes.size() > limit;
+            if (hasMore) {
+                changes = changes.subList(0, limit);
+            }
+
+            // Later changes supersede earlier ones to the same appointment within the page
+            Map<UUID, AppointmentChange> latest = new LinkedHashMap<>();
+            for (AppointmentChange change : changes) {
+                latest.remove(change.getAppointmentId());
+                latest.put(change.getAppointmentId(), change);
+            }
+            List<UUID> liveIds = latest.values().stream()
+                    .filter(change -> change.getType() != AppointmentChange.Type.DELETED)
+                    .map(AppointmentChange::getAppointmentId)
+                    .toList();
+            Map<UUID, AppointmentResponse> current = liveIds.isEmpty() ? Map.of() : appointmentsRepository.findAllWithServicesByIdIn(liveIds).stream()
+                    .collect(Collectors.toMap(Appointment::getId, appointmentMapper::toResponseDto));
+
+            List<AppointmentChangeResponse> responses = new ArrayList<>(latest.size());
+            for (AppointmentChange change : latest.values()) {
+                AppointmentResponse appointment = current.get(change.getAppointmentId());
+                if (change.getType() == AppointmentChange.Type.DELETED || appointment != null) {
+                    responses.add(new AppointmentChangeResponse(change.getSequence(), change.getAppointmentId(), change.getType(), appointment));
+                }
+            }
+            String nextCursor = changes.isEmpty() ? String.valueOf(after) : String.valueOf(changes.get(changes.size() - 1).getSequence());
+            return new AppointmentChangesResponse(responses, nextCursor, hasMore);
+        }
+    }
+
+    private static long parseChangeCursor(String since) {
+        if (since == null || since.isBlank()) {
+            return 0L;
+        }
         try {
-            Appointment existingAppointment = appointmentsRepository.findById(id)
-                    .orElseThrow(() -> new AppointmentNotFoundException("Appointment with ID " + id + " not found."));
+            return Long.parseLong(since);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid change cursor: " + since);
+        }
+    }
 
+    /**
+     * Served from the {@link AppointmentCache}, after checking the cached version against the
+     * database; only a miss or an outdated entry runs the join-fetch, which loads the services
+     * with the appointment so the mapping needs no open transaction. An ID not in the live
+     * table is looked up in the archive.
+     */
+    @Override
+    public Optional<AppointmentResponse> getAppointmentById(UUID id) {
+        return appointmentCache.get(id, () -> getAppointmentVersion(id), () -> {
+            logger.info("Fetching appointment by ID with services: {}", id);
+            return appointmentsRepository.findByIdWithServices(id).map(appointmentMapper::toResponseDto)
+                    .or(() -> archivedAppointmentsRepository.findByIdWithServices(id).map(appointmentMapper::toResponseDto));
+        });
+    }
+
+    @Override
+    public Optional<Long> getAppointmentVersion(UUID id) {
+        // Always read from the database: a cached version may be behind a change made on another instance
+        Optional<Long> live = appointmentsRepository.findVersionById(id);
+        return live.isPresent() ? live : archivedAppointmentsRepository.findVersionById(id);
+    }
+
+    /**
+     * Like {@link #createAppointment}, resolves the services from the catalogue first and
+     * only then opens the write transaction that loads, modifies and saves the appointment.
+     * With an {@code expectedVersion} the loaded version must match it, and the version
+     * check in Hibernate's {@code UPDATE} keeps it matching until the change is written.
+     */
+    @Override
+    public AppointmentResponse updateAppointment(UUID id, UpdateAppointmentRequest request, Long expectedVersion) {
+        try {
             List<ServiceCatalogueResponse> fetchedServices = fetchAndVerifyServices(request.getServiceIds());
 
-            existingAppointment.getServices().clear();
             List<ServiceModel> serviceModels = fetchedServices.stream()
                     .peek(fs -> {
                         if (!fs.isActive()) throw new AppointmentCreationException("Service '" + fs.getName() + "' is currently inactive.");
                     })
                     .map(appointmentMapper::toServiceModel)
-                    .peek(sm -> sm.setAppointment(existingAppointment))
                     .toList();
 
-            existingAppointment.getServices().addAll(serviceModels);
-
-            existingAppointment.setDateTime(request.getDateTime());
-            existingAppointment.setNotes(request.getNotes());
-            existingAppointment.setStatus(request.getStatus());
-            existingAppointment.setUpdatedAt(LocalDateTime.now());
-            existingAppointment.setTotalCost(serviceModels.stream().mapToDouble(ServiceModel::getPrice).sum());
-
-            Appointment updatedAppointment = appointmentsRepository.save(existingAppointment);
-            logger.info("Successfully updated appointment {}", updatedAppointment.getId());
-            return appointmentMapper.toResponseDto(updatedAppointment);
+            AppointmentResponse updatedAppointment = transactionTemplate.execute(status -> {
+                Appointment existingAppointment = appointmentsRepository.findById(id)
+                        .orElseThrow(() -> new AppointmentNotFoundException("Appointment with ID " + id + " not found."));
+                if (expectedVersion != null && !expectedVersion.equals(existingAppointment.getVersion())) {
+                    throw new PreconditionFailedException("Appointment " + id + " is at version " + existingAppointment.getVersion()
+                            + ", not the expected version " + expectedVersion + ".");
+                }
+                Occupancy before = occupancyOf(existingAppointment);
+
+                existingAppointment.getServices().clear();
+                serviceModels.forEach(existingAppointment::addService);
+
+                existingAppointment.setDateTime(request.getDateTime());
+                existingAppointment.setNotes(request.getNotes());
+                existingAppointment.setStatus(request.getStatus());
+                existingAppointment.setUpdatedAt(LocalDateTime.now());
+                existingAppointment.setTotalCost(serviceModels.stream().mapToDouble(ServiceModel::getPrice).sum());
+                existingAppointment.refreshSchedule();
+
+                // Flush so the response (and its ETag) carries the version this write produced
+                Appointment saved = appointmentsRepository.saveAndFlush(existingAppointment);
+                eventPublisher.publishEvent(AppointmentChangedEvent.updated(id, before, occupancyOf(saved)));
+                return appointmentMapper.toResponseDto(saved);
+            });
+            logger.info("Successfully updated appointment {}", id);
+            return updatedAppointment;
+        } catch (AppointmentNotFoundException | PreconditionFailedException | ServiceUnavailableException e) {
+            throw e;
+        } catch (ObjectOptimisticLockingFailureException e) {
+            throw new OptimisticLockingConflictException("Appointment " + id + " was modified concurrently.", e);
         } catch (Exception e) {
             logger.error("Failed to update appointment {}: {}", id, e.getMessage(), e);
             throw new AppointmentUpdateException("An unexpected error occurred during appointment update.", e);
@@ -132,90 +403,69 @@ public class AppointmentsServiceImpl implements AppointmentsService {
     @Transactional
     public void deleteAppointment(UUID id) {
         logger.info("Deleting appointment with ID: {}", id);
-        if (!appointmentsRepository.existsById(id)) {
-            throw new AppointmentNotFoundException("Cannot delete. Appointment with ID " + id + " not found.");
-        }
-        appointmentsRepository.deleteById(id);
+        Appointment appointment = appointmentsRepository.findById(id)
+                .orElseThrow(() -> new AppointmentNotFoundException("Cannot delete. Appointment with ID " + id + " not found."));
+        Occupancy before = occupancyOf(appointment);
+        appointmentsRepository.delete(appointment);
+        eventPublisher.publishEvent(AppointmentChangedEvent.deleted(id, before));
         logger.info("Successfully deleted appointment {}", id);
     }
 
+    private Appointment buildAppointment(CreateAppointmentRequest request, List<ServiceCatalogueResponse> fetchedServices) {
+        Appointment appointment = new Appointment();
+        appointment.setUserId(request.getUserId());
+        appointment.setDateTime(request.getDateTime());
+        appointment.setNotes(request.getNotes());
+        appointment.setGuests(request.getGuests());
+        appointment.setCreatedAt(LocalDateTime.now());
+        appointment.setUpdatedAt(LocalDateTime.now());
+        appointment.setStatus("Confirmed");
+
+        List<ServiceModel> serviceModels = fetchedServices.stream()
+                .peek(fs -> {
+                    if (!fs.isActive()) throw new AppointmentCreationException("Service '" + fs.getName() + "' is currently inactive.");
+                })
+                .map(appointmentMapper::toServiceModel)
+                .toList();
+
+        serviceModels.forEach(appointment::addService); // Set the children on the parent, with back-references
+
+        double totalCost = serviceModels.stream().mapToDouble(ServiceModel::getPrice).sum();
+        appointment.setTotalCost(totalCost);
+        appointment.refreshSchedule();
+        return appointment;
+    }
+
     private List<ServiceCatalogueResponse> fetchAndVerifyServices(List<UUID> serviceIds) {
-        List<ServiceCatalogueResponse> fetchedServices = Flux.fromIterable(serviceIds)
-                .parallel()
-                .flatMap(this::fetchServiceDetails)
-                .collectSortedList(Comparator.comparing(ServiceCatalogueResponse::getName))
-                .block();
+        List<ServiceCatalogueResponse> fetchedServices = catalogueClient.fetchServicesBlocking(serviceIds);
 
         if (fetchedServices == null || fetchedServices.size() != serviceIds.size()) {
             throw new AppointmentCreationException("Could not retrieve details for all requested services.");
         }
-        return fetchedServices;
-    }
-
-    private Mono<ServiceCatalogueResponse> fetchServiceDetails(UUID serviceId) {
-        logger.info("Fetching details for service ID: {}", serviceId);
-        return catalogueServiceWebClient.get()
-                .uri("/services/{id}", serviceId)
-                .retrieve()
-                .onStatus(HttpStatusCode::is4xxClientError,
-                        response -> Mono.error(new AppointmentCreationException("Service with ID " + serviceId + " not found in catalogue.")))
-                .onStatus(HttpStatusCode::is5xxServerError,
-                        response -> Mono.error(new ServiceUnavailableException("Service catalogue is currently unavailable.")))
-                .bodyToMono(ServiceCatalogueResponse.class)
-                .onErrorResume(ex -> {
-                    logger.error("Error fetching service details for ID {}: {}", serviceId, ex.getMessage());
-                    return Mono.error(ex);
-                });
+        return fetchedServices.stream()
+                .sorted(Comparator.comparing(ServiceCatalogueResponse::getName))
+                .toList();
+    }
+
+    private static Occupancy occupancyOf(Appointment appointment) {
+        // Rows not yet backfilled have no stored duration; fall back to summing the services
+        Integer totalMinutes = appointment.getTotalDurationMinutes();
+        if (totalMinutes == null) {
+            totalMinutes = appointment.getServices().stream().mapToInt(ServiceModel::getDurationInMinutes).sum();
+        }
+        return new Occupancy(appointment.getDateTime(), totalMinutes);
     }
 
+    /**
+     * Answered from the {@link SlotOccupancyIndex}; only a date that is not indexed yet
+     * touches the database, so this method does not open a transaction of its own.
+     */
     @Override
-    @Transactional(readOnly = true)
     public SlotsResponse getBookedSlots(LocalDate date) {
-
-        logger.info("Fetching booked slots for date: {}", date);
+        logger.debug("Fetching booked slots for date: {}", date);
         try {
-            List<Appointment> appointments =
-                    appointmentsRepository.findByDateTimeBetween(
-                            date.atStartOfDay(),
-                            date.plusDays(1).atStartOfDay()
-                    );
-            logger.info("Found {} appointment(s) on {}", appointments.size(), date);
-
-            DateTimeFormatter fmt = DateTimeFormatter.ofPattern("HH:mm");
-            Set<String> booked = new HashSet<>();
-
-            for (Appointment appointment : appointments) {
-
-                LocalDateTime start = appointment.getDateTime();
-
-                int totalMinutes = appointment.getServices()
-                        .stream()
-                        .mapToInt(ServiceModel::getDurationInMinutes)
-                        .sum();
-
-                LocalDateTime end = start.plusMinutes(totalMinutes);
-                logger.debug(
-                        "Processing appointment {} — start: {}, duration: {} mins, end: {}",
-                        appointment.getId(), start, totalMinutes, end
-                );
-                LocalDateTime slot = start;
-
-                while (!slot.isAfter(end.minusMinutes(30))) {
-                    String slotString = slot.toLocalTime().format(fmt);
-                    booked.add(slotString);
-                    logger.debug("Marked booked slot: {}", slotString);
-                    slot = slot.plusMinutes(30);
-                }
-            }
-            List<String> sorted = booked.stream().sorted().toList();
-
-            logger.info(
-                    "Completed booked slot calculation for {} — total booked intervals: {}",
-                    date, sorted.size()
-            );
-
-            return new SlotsResponse(sorted);
-
+            DayOccupancy day = slotOccupancyIndex.occupancy(date);
+            return new SlotsResponse(day.bookedSlots(), day.contentTag());
         } catch (DataAccessException dae) {
             logger.error("Database error while retrieving booked slots for {}: {}", date, dae.getMessage(), dae);
             throw new ServiceUnavailableException("Database error while retrieving booked slots.", dae);
@@ -225,4 +475,66 @@ public class AppointmentsServiceImpl implements AppointmentsService {
         }
     }
 
-}
\ No newline at end of file
+    /**
+     * Resolves the services' total duration from the catalogue as creation does, then searches
+     * the {@link SlotOccupancyIndex} for start times with that much contiguous free time.
+     */
+    @Override
+    public AvailableSlotsResponse findAvailableSlots(List<UUID> serviceIds, LocalDate from, int count) {
+        if (count < 1 || count > MAX_AVAILABLE_SLOTS) {
+            throw new IllegalArgumentException("count must be between 1 and " + MAX_AVAILABLE_SLOTS);
+        }
+        List<ServiceCatalogueResponse> services;
+        try {
+            services = fetchAndVerifyServices(serviceIds);
+        } catch (AppointmentCreationException e) {
+            throw new IllegalArgumentException(e.getMessage(), e);
+        }
+        services.stream().filter(service -> !service.isActive()).findFirst().ifPresent(service -> {
+            throw new IllegalArgumentException("Service '" + service.getName() + "' is currently inactive.");
+        });
+        int durationMinutes = services.stream().mapToInt(ServiceCatalogueResponse::getDurationInMinutes).sum();
+
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime notBefore = from.atStartOfDay().isAfter(now) ? from.atStartOfDay() : now;
+        logger.debug("Searching {} start time(s) of {} minutes from {}", count, durationMinutes, notBefore);
+        try {
+            return new AvailableSlotsResponse(durationMinutes, availableSlotSearch.find(notBefore, durationMinutes, count));
+        } catch (DataAccessException dae) {
+            logger.error("Database error while searching available slots from {}: {}", from, dae.getMessage(), dae);
+            throw new ServiceUnavailableException("Database error while searching available slots.", dae);
+        }
+    }
+
+    /**
+     * Booked slots for every date from {@code from} to {@code to} inclusive. Dates not yet in
+     * the {@link SlotOccupancyIndex} are loaded with one query for the whole range.
+     */
+    @Override
+    public SlotsRangeResponse getBookedSlotsRange(LocalDate from, LocalDate to) {
+        if (to.isBefore(from)) {
+            throw new IllegalArgumentException("'to' must not be before 'from'");
+        }
+        if (ChronoUnit.DAYS.between(from, to) >= MAX_SLOT_RANGE_DAYS) {
+            throw new IllegalArgumentException("A slots range may span at most " + MAX_SLOT_RANGE_DAYS + " days");
+        }
+        logger.debug("Fetching booked slots from {} to {}", from, to);
+        try {
+            Base64.Encoder base64 = Base64.getEncoder();
+            List<DaySlotsResponse> days = new ArrayList<>();
+            for (Map.Entry<LocalDate, DayOccupancy> day : slotOccupancyIndex.occupancy(from, to.plusDays(1)).entrySet()) {
+                DayOccupancy occupancy = day.getValue();
+                days.add(new DaySlotsResponse(day.getKey(), occupancy.bookedSlots(),
+                        base64.encodeToString(occupancy.bitmap().toByteArray())));
+            }
+            return new SlotsRangeResponse(days);
+        } catch (DataAccessException dae) {
+            logger.error("Database error while retrieving booked slots from {} to {}: {}", from, to, dae.getMessage(), dae);
+            throw new ServiceUnavailableException("Database error while retrieving booked slots.", dae);
+        } catch (Exception ex) {
+            logger.error("Unexpected error retrieving booked slots from {} to {}: {}", from, to, ex.getMessage(), ex);
+            throw new AppointmentRetrievalException("Error retrieving booked slots from " + from + " to " + to, ex);
+        }
+    }
+
+}
@@ -0,0 +1,116 @@
+package com.mtbs.appointments.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.mtbs.appointments.dto.AppointmentResponse;
+import com.mtbs.appointments.dto.CreateAppointmentRequest;
+import com.mtbs.appointments.exception.IdempotencyKeyReusedException;
+import com.mtbs.appointments.exception.ServiceUnavailableException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Remembers the outcome of appointment creations by {@code Idempotency-Key}, so a retried
+ * request gets the original {@link AppointmentResponse} back instead of booking again.
+ * <p>
+ * The first request with a key creates the appointment on its own thread; requests with the
+ * same key arriving meanwhile wait for that result, up to {@code appointments.idempotency.wait-timeout}.
+ * A failed creation is handed to those waiters but not remembered, so a later retry runs
+ * again. A key sent with a different body is rejected. Entries live in memory only, bounded
+ * by {@code appointments.idempotency.maximum-size} and dropped after {@code appointments.idempotency.ttl};
+ * lookups never touch the database.
+ * <p>
+ * Because the store is per-JVM, the guarantee only holds for a single instance: a retry
+ * routed to another instance, or arriving after a restart, books again. Running more than one
+ * instance needs either sticky routing by {@code Idempotency-Key} or a store shared through
+ * the database. Meters are the {@code cache.*} meters tagged
+ * {@code cache=idempotency}, plus {@code appointments.idempotency.replays}.
+ */
+@Component
+public class IdempotencyStore {
+
+    private final Cache<String, Entry> entries;
+    private final Duration waitTimeout;
+    private final Counter replays;
+
+    public IdempotencyStore(@Value("${appointments.idempotency.maximum-size:100000}") long maximumSize,
+                            @Value("${appointments.idempotency.ttl:PT24H}") Duration ttl,
+                            @Value("${appointments.idempotency.wait-timeout:PT30S}") Duration waitTimeout,
+                            MeterRegistry meterRegistry) {
+        this.entries = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        this.waitTimeout = waitTimeout;
+        this.replays = Counter.builder("appointments.idempotency.replays")
+                .description("Creations answered from the idempotency store instead of booking again")
+                .register(meterRegistry);
+        CaffeineCacheMetrics.monitor(meterRegistry, entries, "idempotency");
+    }
+
+    /**
+     * Runs {@code create} unless {@code key} was already used for this request, in which case
+     * the earlier (or in-flight) result is returned.
+     */
+    public Outcome execute(String key, CreateAppointmentRequest request, Supplier<AppointmentResponse> create) {
+        Entry entry = new Entry(request, new CompletableFuture<>());
+        Entry existing = entries.asMap().putIfAbsent(key, entry);
+        if (existing != null) {
+            if (!existing.request().equals(request)) {
+                throw new IdempotencyKeyReusedException(
+                        "Idempotency-Key " + key + " was already used for a different request");
+            }
+            AppointmentResponse response = await(key, existing.response());
+            replays.increment();
+            return new Outcome(response, true);
+        }
+        try {
+            AppointmentResponse response = create.get();
+            entry.response().complete(response);
+            return new Outcome(response, false);
+        } catch (RuntimeException ex) {
+            entries.asMap().remove(key, entry);
+            entry.response().completeExceptionally(ex);
+            throw ex;
+        }
+    }
+
+    public long size() {
+        return entries.estimatedSize();
+    }
+
+    private AppointmentResponse await(String key, CompletableFuture<AppointmentResponse> response) {
+        try {
+            return response.get(waitTimeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (ExecutionException ex) {
+            if (ex.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException(ex.getCause());
+        } catch (TimeoutException ex) {
+            throw new ServiceUnavailableException(
+                    "A request with Idempotency-Key " + key + " is still in progress; retry later");
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new ServiceUnavailableException("Interrupted while waiting for Idempotency-Key " + key, ex);
+        }
+    }
+
+    /** The created appointment, and whether it was replayed from an earlier request. */
+    public record Outcome(AppointmentResponse response, boolean replayed) {
+    }
+
+    private record Entry(CreateAppointmentRequest request, CompletableFuture<AppointmentResponse> response) {
+    }
+}
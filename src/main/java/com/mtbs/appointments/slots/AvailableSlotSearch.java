@@ -0,0 +1,63 @@
+package com.mtbs.appointments.slots;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Finds the next start times with enough contiguous free time for a given duration, within
+ * opening hours ({@code appointments.search.opening-time} to {@code appointments.search.closing-time}).
+ * <p>
+ * Days are taken from the {@link SlotOccupancyIndex} a week at a time, so a search over indexed
+ * dates runs entirely in memory; dates not indexed yet are loaded one week per query. A search
+ * gives up after {@code appointments.search.max-days} days.
+ */
+@Component
+public class AvailableSlotSearch {
+
+    private static final int DAYS_PER_LOAD = 7;
+
+    private final SlotOccupancyIndex slotOccupancyIndex;
+    private final LocalTime opening;
+    private final LocalTime closing;
+    private final int maxDays;
+
+    public AvailableSlotSearch(SlotOccupancyIndex slotOccupancyIndex,
+                               @Value("${appointments.search.opening-time:09:00}") LocalTime opening,
+                               @Value("${appointments.search.closing-time:18:00}") LocalTime closing,
+                               @Value("${appointments.search.max-days:62}") int maxDays) {
+        if (!closing.isAfter(opening)) {
+            throw new IllegalArgumentException("appointments.search.closing-time must be after opening-time");
+        }
+        this.slotOccupancyIndex = slotOccupancyIndex;
+        this.opening = opening;
+        this.closing = closing;
+        this.maxDays = maxDays;
+    }
+
+    /** Up to {@code count} start times, in order, no earlier than {@code notBefore}. */
+    public List<LocalDateTime> find(LocalDateTime notBefore, int durationMinutes, int count) {
+        List<LocalDateTime> starts = new ArrayList<>(count);
+        LocalDate firstDay = notBefore.toLocalDate();
+        LocalDate end = firstDay.plusDays(maxDays);
+        for (LocalDate from = firstDay; from.isBefore(end) && starts.size() < count; from = from.plusDays(DAYS_PER_LOAD)) {
+            LocalDate to = from.plusDays(DAYS_PER_LOAD).isBefore(end) ? from.plusDays(DAYS_PER_LOAD) : end;
+            for (Map.Entry<LocalDate, DayOccupancy> day : slotOccupancyIndex.occupancy(from, to).entrySet()) {
+                LocalTime earliest = day.getKey().equals(firstDay) ? notBefore.toLocalTime() : LocalTime.MIN;
+                for (LocalTime start : day.getValue().freeStarts(opening, closing, earliest, durationMinutes, count - starts.size())) {
+                    starts.add(day.getKey().atTime(start));
+                }
+                if (starts.size() == count) {
+                    break;
+                }
+            }
+        }
+        return starts;
+    }
+}
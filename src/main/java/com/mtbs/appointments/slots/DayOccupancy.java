@@ -0,0 +1,193 @@
+package com.mtbs.appointments.slots;
+
+import com.mtbs.appointments.repository.AppointmentOccupancyView;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalTime;
+import java.util.*;
+
+/**
+ * Immutable snapshot of one day's booked 30-minute slots.
+ * <p>
+ * Each appointment books the slots starting at its start time and every 30 minutes after
+ * that, as long as the slot ends no later than the appointment does. Slots are recorded
+ * as one bit per minute of the day (the slot's start minute) and the sorted {@code HH:mm}
+ * list is computed once when the snapshot is built, so reads are a field access.
+ * A second bitset marks every minute some appointment is in progress, for finding free time.
+ * Changes produce a new snapshot via {@link #with} / {@link #without}.
+ */
+public final class DayOccupancy {
+
+    static final int MINUTES_PER_DAY = 24 * 60;
+    static final int SLOT_MINUTES = 30;
+
+    /** Stamp of a snapshot that may not match any indexed state, and so must not be used as a version. */
+    public static final long UNSTAMPED = -1L;
+
+    private final Map<UUID, Booking> bookings;
+    private final BitSet booked;
+    private final BitSet busy;
+    private final List<String> bookedSlots;
+    private final String contentTag;
+    private final long stamp;
+
+    private DayOccupancy(Map<UUID, Booking> bookings, long stamp) {
+        this.bookings = bookings;
+        this.stamp = stamp;
+        this.booked = new BitSet(MINUTES_PER_DAY);
+        this.busy = new BitSet(MINUTES_PER_DAY);
+        bookings.values().forEach(booking -> {
+            booking.markSlots(booked);
+            booking.markBusy(busy);
+        });
+        List<String> slots = new ArrayList<>(booked.cardinality());
+        for (int minute = booked.nextSetBit(0); minute >= 0; minute = booked.nextSetBit(minute + 1)) {
+            slots.add(format(minute));
+        }
+        this.bookedSlots = Collections.unmodifiableList(slots);
+        this.contentTag = contentTag(bookedSlots);
+    }
+
+    static DayOccupancy of(Map<UUID, Booking> bookings, long stamp) {
+        return new DayOccupancy(Map.copyOf(bookings), stamp);
+    }
+
+    /** Builds an {@link #UNSTAMPED} snapshot of one day from its appointments, outside the index. */
+    public static DayOccupancy unindexed(Collection<AppointmentOccupancyView> appointments) {
+        Map<UUID, Booking> bookings = new HashMap<>();
+        appointments.forEach(appointment -> bookings.put(appointment.id(), Booking.of(appointment)));
+        return new DayOccupancy(bookings, UNSTAMPED);
+    }
+
+    /** Booked slot start times for the day, formatted {@code HH:mm} and in ascending order. */
+    public List<String> bookedSlots() {
+        return bookedSlots;
+    }
+
+    /** Bit {@code n} is set if a booked slot starts at minute {@code n} of the day. */
+    public BitSet bitmap() {
+        return (BitSet) booked.clone();
+    }
+
+    public boolean isBooked(LocalTime slotStart) {
+        return booked.get(slotStart.getHour() * 60 + slotStart.getMinute());
+    }
+
+    /**
+     * Start times, at most {@code limit}, at which {@code durationMinutes} of contiguous free
+     * time fit between {@code opening} and {@code closing}. Candidates are every 30 minutes
+     * from {@code opening}, no earlier than {@code notBefore}; a busy stretch is skipped in
+     * one step rather than candidate by candidate.
+     */
+    public List<LocalTime> freeStarts(LocalTime opening, LocalTime closing, LocalTime notBefore, int durationMinutes, int limit) {
+        int first = minuteOf(opening);
+        int close = minuteOf(closing);
+        int earliest = minuteOf(notBefore);
+        if (earliest > first) {
+            first += ceilToSlot(earliest - first);
+        }
+        List<LocalTime> starts = new ArrayList<>(Math.min(limit, 16));
+        int start = first;
+        while (start + durationMinutes <= close && starts.size() < limit) {
+            int nextBusy = busy.nextSetBit(start);
+            if (nextBusy < 0 || nextBusy >= start + durationMinutes) {
+                starts.add(LocalTime.of(start / 60, start % 60));
+                start += SLOT_MINUTES;
+            } else {
+                start = first + ceilToSlot(busy.nextClearBit(nextBusy) - first);
+            }
+        }
+        return starts;
+    }
+
+    /** {@link #contentTag(List)} of this day's booked slots. */
+    public String contentTag() {
+        return contentTag;
+    }
+
+    /**
+     * Tag identifying a list of booked slots by content: equal lists have equal tags on every
+     * instance and across restarts, and different lists differ with overwhelming probability.
+     */
+    private static String contentTag(List<String> bookedSlots) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256")
+                    .digest(String.join(",", bookedSlots).getBytes(StandardCharsets.US_ASCII));
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(Arrays.copyOf(digest, 16));
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("SHA-256 is not available", ex);
+        }
+    }
+
+    public int appointmentCount() {
+        return bookings.size();
+    }
+
+    /**
+     * Value of the index's change counter when this snapshot was loaded or last modified; a
+     * different stamp for the same date means the slots may have changed. {@link #UNSTAMPED}
+     * if the snapshot was loaded concurrently with a change and was not indexed. The counter
+     * is local to this instance and restarts with it, so it is never sent to clients; use
+     * {@link #contentTag()} for that.
+     */
+    public long stamp() {
+        return stamp;
+    }
+
+    DayOccupancy unstamped() {
+        return new DayOccupancy(bookings, UNSTAMPED);
+    }
+
+    DayOccupancy with(UUID appointmentId, Booking booking, long stamp) {
+        Map<UUID, Booking> updated = new HashMap<>(bookings);
+        updated.put(appointmentId, booking);
+        return of(updated, stamp);
+    }
+
+    DayOccupancy without(UUID appointmentId, long stamp) {
+        if (!bookings.containsKey(appointmentId)) {
+            return this;
+        }
+        Map<UUID, Booking> updated = new HashMap<>(bookings);
+        updated.remove(appointmentId);
+        return of(updated, stamp);
+    }
+
+    private static int minuteOf(LocalTime time) {
+        return time.getHour() * 60 + time.getMinute();
+    }
+
+    private static int ceilToSlot(int minutes) {
+        return Math.ceilDiv(minutes, SLOT_MINUTES) * SLOT_MINUTES;
+    }
+
+    private static String format(int minuteOfDay) {
+        int hour = minuteOfDay / 60;
+        int minute = minuteOfDay % 60;
+        return (hour < 10 ? "0" : "") + hour + (minute < 10 ? ":0" : ":") + minute;
+    }
+
+    /** An appointment's start time and total service duration. */
+    record Booking(LocalTime start, int durationMinutes) {
+
+        static Booking of(AppointmentOccupancyView appointment) {
+            return new Booking(appointment.dateTime().toLocalTime(), Math.toIntExact(appointment.totalDurationMinutes()));
+        }
+
+        void markSlots(BitSet bits) {
+            int startMinute = start.getHour() * 60 + start.getMinute();
+            // Slots that run past midnight wrap around, like LocalDateTime.toLocalTime() would
+            for (int offset = 0; offset <= durationMinutes - SLOT_MINUTES; offset += SLOT_MINUTES) {
+                bits.set((startMinute + offset) % MINUTES_PER_DAY);
+            }
+        }
+
+        void markBusy(BitSet bits) {
+            int startMinute = start.getHour() * 60 + start.getMinute();
+            // Unlike slots, busy time is cut at midnight rather than wrapped onto the same day
+            bits.set(startMinute, Math.min(startMinute + durationMinutes, MINUTES_PER_DAY));
+        }
+    }
+}
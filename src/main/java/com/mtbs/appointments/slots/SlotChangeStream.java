@@ -0,0 +1,187 @@
+package com.mtbs.appointments.slots;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mtbs.appointments.dto.DaySlotsResponse;
+import com.mtbs.appointments.event.AppointmentChangedEvent;
+import com.mtbs.appointments.event.AppointmentChangedEvent.Occupancy;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.core.scheduler.Schedulers;
+
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Pushes a date's booked slots to subscribers whenever a committed change touches that date,
+ * so calendars can stop polling {@code GET /api/v1/appointments/slots}.
+ * <p>
+ * Each subscribed date has one topic, shared by all its subscribers and dropped with the last
+ * of them; a change only signals the topics of the dates it touches. Signals within
+ * {@code appointments.slots.stream.coalesce-window} are coalesced, and each resulting update
+ * is read from the {@link SlotOccupancyIndex} and serialised once per topic, not once per
+ * subscriber. A topic replays its latest update to new subscribers, and its first update is
+ * read only after it listens for changes, so no change can fall between the two. A shared heartbeat comment every {@code appointments.slots.stream.heartbeat}
+ * keeps idle connections open through proxies and detects clients that went away.
+ * Subscribed dates and subscribers are the {@code appointments.slots.stream.dates} and
+ * {@code appointments.slots.stream.subscribers} gauges.
+ */
+@Component
+public class SlotChangeStream {
+
+    private static final Logger logger = LoggerFactory.getLogger(SlotChangeStream.class);
+    static final String EVENT_NAME = "slots";
+    private static final int MAX_RANGE_DAYS = 62;
+
+    private final SlotOccupancyIndex slotOccupancyIndex;
+    private final ObjectMapper objectMapper;
+    private final Duration coalesceWindow;
+    private final Flux<ServerSentEvent<String>> heartbeat;
+    private final ConcurrentMap<LocalDate, Topic> topics = new ConcurrentHashMap<>();
+    private final AtomicInteger subscribers = new AtomicInteger();
+
+    public SlotChangeStream(SlotOccupancyIndex slotOccupancyIndex, ObjectMapper objectMapper,
+                            @Value("${appointments.slots.stream.coalesce-window:PT0.25S}") Duration coalesceWindow,
+                            @Value("${appointments.slots.stream.heartbeat:PT15S}") Duration heartbeat,
+                            MeterRegistry meterRegistry) {
+        if (coalesceWindow.isZero() || coalesceWindow.isNegative()) {
+            throw new IllegalArgumentException("appointments.slots.stream.coalesce-window must be positive");
+        }
+        this.slotOccupancyIndex = slotOccupancyIndex;
+        this.objectMapper = objectMapper;
+        this.coalesceWindow = coalesceWindow;
+        this.heartbeat = Flux.interval(heartbeat, heartbeat)
+                .map(tick -> ServerSentEvent.<String>builder().comment("keep-alive").build())
+                .share();
+        Gauge.builder("appointments.slots.stream.dates", topics, Map::size)
+                .description("Dates with at least one slot subscriber")
+                .register(meterRegistry);
+        Gauge.builder("appointments.slots.stream.subscribers", subscribers, AtomicInteger::get)
+                .description("Open slot subscriptions")
+                .register(meterRegistry);
+    }
+
+    /**
+     * The booked slots of every date from {@code from} to {@code to} inclusive, followed by
+     * an update for a date each time its slots may have changed. Each event's data is a
+     * {@link DaySlotsResponse} and its ID the date and the slots' content tag.
+     */
+    public Flux<ServerSentEvent<String>> subscribe(LocalDate from, LocalDate to) {
+        if (to.isBefore(from)) {
+            throw new IllegalArgumentException("'to' must not be before 'from'");
+        }
+        if (ChronoUnit.DAYS.between(from, to) >= MAX_RANGE_DAYS) {
+            throw new IllegalArgumentException("A slots subscription may span at most " + MAX_RANGE_DAYS + " days");
+        }
+        return Flux.defer(() -> {
+            // Index the range with one query up front, so new topics don't each load their date
+            slotOccupancyIndex.occupancy(from, to.plusDays(1));
+            List<Flux<ServerSentEvent<String>>> updates = new ArrayList<>();
+            for (LocalDate date = from; !date.isAfter(to); date = date.plusDays(1)) {
+                updates.add(updates(date));
+            }
+            return Flux.merge(updates).mergeWith(heartbeat.onBackpressureDrop());
+        });
+    }
+
+    /** Number of dates that currently have a subscriber. */
+    public int subscribedDates() {
+        return topics.size();
+    }
+
+    @TransactionalEventListener
+    public void onAppointmentChanged(AppointmentChangedEvent event) {
+        signal(event.before());
+        signal(event.after());
+    }
+
+    private void signal(Occupancy occupancy) {
+        if (occupancy == null) {
+            return;
+        }
+        Topic topic = topics.get(occupancy.start().toLocalDate());
+        if (topic != null) {
+            // A failed emit means another thread is signalling the same topic right now,
+            // and the update that signal triggers is read after this change committed
+            topic.signals.tryEmitNext(Boolean.TRUE);
+        }
+    }
+
+    private Flux<ServerSentEvent<String>> updates(LocalDate date) {
+        return Flux.defer(() -> {
+            // The subscriber count only changes inside compute(), so a topic is never dropped while in use
+            Topic topic = topics.compute(date, (key, existing) -> {
+                Topic current = existing != null ? existing : new Topic(key);
+                current.subscribers++;
+                return current;
+            });
+            subscribers.incrementAndGet();
+            // A slow subscriber only ever has the latest update pending and never holds back the others
+            return topic.updates.asFlux().onBackpressureLatest().doFinally(signal -> {
+                subscribers.decrementAndGet();
+                topics.computeIfPresent(date, (key, current) -> {
+                    if (--current.subscribers > 0) {
+                        return current;
+                    }
+                    current.pipeline.dispose();
+                    return null;
+                });
+            });
+        });
+    }
+
+    private ServerSentEvent<String> event(LocalDate date, DayOccupancy day) {
+        DaySlotsResponse slots = new DaySlotsResponse(date, day.bookedSlots(),
+                Base64.getEncoder().encodeToString(day.bitmap().toByteArray()));
+        try {
+            return ServerSentEvent.builder(objectMapper.writeValueAsString(slots))
+                    .event(EVENT_NAME)
+                    .id(date + "/" + day.contentTag())
+                    .build();
+        } catch (JsonProcessingException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    private final class Topic {
+
+        private final Sinks.Many<Boolean> signals = Sinks.many().multicast().directBestEffort();
+        private final Sinks.Many<ServerSentEvent<String>> updates = Sinks.many().replay().latest();
+        private final Disposable pipeline;
+        private int subscribers;
+
+        private Topic(LocalDate date) {
+            // One sequential pipeline per topic, so updates are emitted in the order they were read
+            this.pipeline = signals.asFlux()
+                    .sample(coalesceWindow)
+                    .startWith(Boolean.TRUE)
+                    // A date missing from the index is loaded from the database
+                    .publishOn(Schedulers.boundedElastic())
+                    .concatMap(signal -> Mono.fromCallable(() -> event(date, slotOccupancyIndex.occupancy(date)))
+                            .onErrorResume(ex -> {
+                                logger.warn("Could not read booked slots for {} to push to subscribers: {}", date, ex.getMessage());
+                                return Mono.empty();
+                            }))
+                    .subscribe(updates::tryEmitNext);
+        }
+    }
+}
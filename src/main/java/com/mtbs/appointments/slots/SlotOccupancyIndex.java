@@ -0,0 +1,210 @@
+package com.mtbs.appointments.slots;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.mtbs.appointments.event.AppointmentChangedEvent;
+import com.mtbs.appointments.event.AppointmentChangedEvent.Occupancy;
+import com.mtbs.appointments.replica.ReadRouting;
+import com.mtbs.appointments.repository.AppointmentOccupancyView;
+import com.mtbs.appointments.repository.AppointmentsRepository;
+import com.mtbs.appointments.slots.DayOccupancy.Booking;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-memory index of booked slots per date.
+ * <p>
+ * Each indexed date maps to an immutable {@link DayOccupancy}; readers just look it up, without
+ * locking or touching the database. Committed creates, updates and deletes arrive as
+ * {@link AppointmentChangedEvent}s and replace the affected dates' snapshots. Dates that are not
+ * indexed yet are loaded from the database on first use, and the next
+ * {@code appointments.slots.index.warm-days} days are loaded in one query at startup.
+ * <p>
+ * A load that overlaps a committed change may have read the database before the change, so
+ * its result is only kept if no change arrived while it ran. Changes are only seen if they
+ * commit through this instance's {@link com.mtbs.appointments.service.AppointmentsService}, so
+ * a date is also reloaded once it has been indexed for {@code appointments.slots.index.ttl}.
+ * That bounds how long writes by other instances, the archiver's bulk deletes or manual SQL
+ * stay invisible. {@link #rebuild()} (exposed as {@code POST /actuator/slotindex}) drops the
+ * index and reloads it at once.
+ * <p>
+ * Index hits and misses are the {@code cache.*} meters tagged {@code cache=slotindex}; each
+ * database load is timed as {@code appointments.slots.load}, and
+ * {@code appointments.slots.load.days} records how many dates it covered.
+ */
+@Component
+public class SlotOccupancyIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(SlotOccupancyIndex.class);
+
+    private final AppointmentsRepository appointmentsRepository;
+    private final Cache<LocalDate, DayOccupancy> days;
+    private final AtomicLong changes = new AtomicLong();
+    private final int warmDays;
+    private final Timer loadTimer;
+    private final DistributionSummary loadDays;
+
+    public SlotOccupancyIndex(AppointmentsRepository appointmentsRepository,
+                              @Value("${appointments.slots.index.maximum-days:1000}") long maximumDays,
+                              @Value("${appointments.slots.index.warm-days:30}") int warmDays,
+                              @Value("${appointments.slots.index.ttl:PT1M}") Duration ttl,
+                              MeterRegistry meterRegistry) {
+        this.appointmentsRepository = appointmentsRepository;
+        this.days = Caffeine.newBuilder()
+                .maximumSize(maximumDays)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        this.warmDays = warmDays;
+        CaffeineCacheMetrics.monitor(meterRegistry, days, "slotindex");
+        this.loadTimer = Timer.builder("appointments.slots.load")
+                .description("Time to load and compute booked slots for dates missing from the index")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.loadDays = DistributionSummary.builder("appointments.slots.load.days")
+                .description("Dates covered by one slot occupancy load")
+                .baseUnit("days")
+                .register(meterRegistry);
+    }
+
+    /** Returns the day's occupancy, loading it from the database if the date is not indexed. */
+    public DayOccupancy occupancy(LocalDate date) {
+        DayOccupancy day = days.getIfPresent(date);
+        if (day != null) {
+            return day;
+        }
+        long observed = changes.get();
+        DayOccupancy loaded = load(date, date.plusDays(1), observed).getOrDefault(date, DayOccupancy.of(Map.of(), observed));
+        return install(date, loaded, observed) ? loaded : loaded.unstamped();
+    }
+
+    /**
+     * Returns the occupancy of every date in {@code [from, to)}, in date order. Dates that are
+     * not indexed yet are loaded together with a single query spanning them.
+     */
+    public Map<LocalDate, DayOccupancy> occupancy(LocalDate from, LocalDate to) {
+        Map<LocalDate, DayOccupancy> result = new LinkedHashMap<>();
+        LocalDate firstMissing = null;
+        LocalDate lastMissing = null;
+        for (LocalDate date = from; date.isBefore(to); date = date.plusDays(1)) {
+            DayOccupancy day = days.getIfPresent(date);
+            result.put(date, day);
+            if (day == null) {
+                firstMissing = firstMissing == null ? date : firstMissing;
+                lastMissing = date;
+            }
+        }
+        if (firstMissing == null) {
+            return result;
+        }
+
+        long observed = changes.get();
+        Map<LocalDate, DayOccupancy> loaded = load(firstMissing, lastMissing.plusDays(1), observed);
+        result.replaceAll((date, day) -> {
+            if (day != null) {
+                return day;
+            }
+            DayOccupancy loadedDay = loaded.getOrDefault(date, DayOccupancy.of(Map.of(), observed));
+            return install(date, loadedDay, observed) ? loadedDay : loadedDay.unstamped();
+        });
+        return result;
+    }
+
+    /** Returns the day's occupancy if the date is indexed, without ever touching the database. */
+    public Optional<DayOccupancy> indexed(LocalDate date) {
+        return Optional.ofNullable(days.getIfPresent(date));
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        if (warmDays <= 0) {
+            return;
+        }
+        LocalDate from = LocalDate.now();
+        LocalDate to = from.plusDays(warmDays);
+        long observed = changes.get();
+        Map<LocalDate, DayOccupancy> loaded = load(from, to, observed);
+        int installed = 0;
+        for (LocalDate date = from; date.isBefore(to); date = date.plusDays(1)) {
+            if (install(date, loaded.getOrDefault(date, DayOccupancy.of(Map.of(), observed)), observed)) {
+                installed++;
+            }
+        }
+        logger.info("Slot occupancy index warmed with {} day(s) from {}", installed, from);
+    }
+
+    /** Drops every indexed date and reloads the warm-up window from the database. */
+    public void rebuild() {
+        logger.info("Rebuilding slot occupancy index");
+        days.invalidateAll();
+        warmUp();
+    }
+
+    public long indexedDays() {
+        days.cleanUp();
+        return days.estimatedSize();
+    }
+
+    public long changeStamp() {
+        return changes.get();
+    }
+
+    @TransactionalEventListener
+    public void onAppointmentChanged(AppointmentChangedEvent event) {
+        // Bump the counter first so loads that overlap this change don't install their result
+        long stamp = changes.incrementAndGet();
+        Occupancy before = event.before();
+        if (before != null) {
+            days.asMap().computeIfPresent(before.start().toLocalDate(),
+                    (date, day) -> day.without(event.appointmentId(), stamp));
+        }
+        Occupancy after = event.after();
+        if (after != null) {
+            Booking booking = new Booking(after.start().toLocalTime(), after.durationMinutes());
+            days.asMap().computeIfPresent(after.start().toLocalDate(),
+                    (date, day) -> day.with(event.appointmentId(), booking, stamp));
+        }
+    }
+
+    private boolean install(LocalDate date, DayOccupancy loaded, long observed) {
+        // compute() runs atomically with onAppointmentChanged's computeIfPresent for the same date
+        DayOccupancy installed = days.asMap().compute(date, (key, existing) ->
+                existing != null ? existing : changes.get() == observed ? loaded : null);
+        return installed == loaded;
+    }
+
+    /**
+     * Loads the occupancy of every date in {@code [from, to)} that has appointments, with one
+     * query. Read from the primary: the stamp only vouches for changes the database has seen.
+     */
+    private Map<LocalDate, DayOccupancy> load(LocalDate from, LocalDate to, long stamp) {
+        loadDays.record(ChronoUnit.DAYS.between(from, to));
+        return loadTimer.record(() -> ReadRouting.onPrimary(() -> loadUntimed(from, to, stamp)));
+    }
+
+    private Map<LocalDate, DayOccupancy> loadUntimed(LocalDate from, LocalDate to, long stamp) {
+        Map<LocalDate, Map<UUID, Booking>> bookingsByDate = new HashMap<>();
+        for (AppointmentOccupancyView appointment : appointmentsRepository.findOccupancyByDateTimeRange(from.atStartOfDay(), to.atStartOfDay())) {
+            bookingsByDate.computeIfAbsent(appointment.dateTime().toLocalDate(), date -> new HashMap<>())
+                    .put(appointment.id(), Booking.of(appointment));
+        }
+        Map<LocalDate, DayOccupancy> occupancy = new HashMap<>();
+        bookingsByDate.forEach((date, bookings) -> occupancy.put(date, DayOccupancy.of(bookings, stamp)));
+        return occupancy;
+    }
+}
@@ -0,0 +1,36 @@
+package com.mtbs.appointments.slots;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * {@code GET /actuator/slotindex} reports the size of the {@link SlotOccupancyIndex};
+ * {@code POST /actuator/slotindex} rebuilds it from the database.
+ */
+@Component
+@Endpoint(id = "slotindex")
+public class SlotOccupancyIndexEndpoint {
+
+    private final SlotOccupancyIndex slotOccupancyIndex;
+
+    public SlotOccupancyIndexEndpoint(SlotOccupancyIndex slotOccupancyIndex) {
+        this.slotOccupancyIndex = slotOccupancyIndex;
+    }
+
+    @ReadOperation
+    public Map<String, Long> status() {
+        return Map.of(
+                "indexedDays", slotOccupancyIndex.indexedDays(),
+                "changeStamp", slotOccupancyIndex.changeStamp());
+    }
+
+    @WriteOperation
+    public Map<String, Long> rebuild() {
+        slotOccupancyIndex.rebuild();
+        return status();
+    }
+}
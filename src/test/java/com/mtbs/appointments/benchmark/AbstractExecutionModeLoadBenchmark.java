@@ -0,0 +1,152 @@
+package com.mtbs.appointments.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mtbs.appointments.dto.CreateAppointmentRequest;
+import com.mtbs.appointments.dto.ServiceCatalogueResponse;
+import com.mtbs.appointments.support.StubCatalogueServer;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Drives a booking-plus-slots workload over HTTP against a catalogue stub with fixed
+ * latency, and reports throughput and the peak number of platform threads after a
+ * warm-up phase. Subclasses pick the execution model; run both with
+ * {@code mvn test -Pbenchmark} to compare. Each context is closed afterwards so its
+ * threads don't count against the next run.
+ */
+@Tag("benchmark")
+@DirtiesContext
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.show-sql=false",
+        "service.catalogue.cache.ttl=PT0S",
+        // Compares execution models, so the catalogue bulkhead must not be the limit
+        "service.catalogue.bulkhead.max-concurrent-calls=1000",
+        "logging.level.com.mtbs.appointments=WARN"
+})
+abstract class AbstractExecutionModeLoadBenchmark {
+
+    private static final int CLIENTS = 400;
+    private static final Duration CATALOGUE_LATENCY = Duration.ofMillis(100);
+    private static final Duration WARM_UP = Duration.ofSeconds(10);
+    private static final Duration RUN_TIME = Duration.ofSeconds(20);
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+
+    private static StubCatalogueServer stub;
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @DynamicPropertySource
+    static void catalogueProperties(DynamicPropertyRegistry registry) throws IOException {
+        stub = new StubCatalogueServer();
+        stub.setLatency(CATALOGUE_LATENCY);
+        registry.add("service.catalogue.base-url", stub::baseUrl);
+    }
+
+    @AfterAll
+    static void stopStub() {
+        stub.close();
+    }
+
+    protected abstract String executionModel();
+
+    @Test
+    void bookingAndSlotsWorkload() throws Exception {
+        List<ServiceCatalogueResponse> services = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            services.add(stub.addService("Service " + i, 20.0, 30));
+        }
+
+        HttpClient http = HttpClient.newBuilder()
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .build();
+        AtomicLong minuteOffset = new AtomicLong();
+        runWorkload(http, services, minuteOffset, WARM_UP, new AtomicInteger(), new AtomicInteger());
+
+        AtomicInteger completed = new AtomicInteger();
+        AtomicInteger failed = new AtomicInteger();
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        threads.resetPeakThreadCount();
+        long started = System.nanoTime();
+        runWorkload(http, services, minuteOffset, RUN_TIME, completed, failed);
+        double seconds = (System.nanoTime() - started) / 1e9;
+
+        System.out.printf("%n[%s] clients=%d catalogueLatency=%dms: %d iterations (%d failed) in %.1fs = %.1f bookings/s, peak platform threads=%d%n%n",
+                executionModel(), CLIENTS, CATALOGUE_LATENCY.toMillis(), completed.get(), failed.get(), seconds,
+                completed.get() / seconds, threads.getPeakThreadCount());
+        assertThat(completed.get()).isPositive();
+    }
+
+    private void runWorkload(HttpClient http, List<ServiceCatalogueResponse> services, AtomicLong minuteOffset,
+                             Duration runTime, AtomicInteger completed, AtomicInteger failed) {
+        long deadline = System.nanoTime() + runTime.toNanos();
+        try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int c = 0; c < CLIENTS; c++) {
+                int client = c;
+                clients.submit(() -> {
+                    while (System.nanoTime() < deadline) {
+                        LocalDateTime dateTime = LocalDate.now().plusDays(1).atStartOfDay()
+                                .plusMinutes(30 * minuteOffset.getAndIncrement());
+                        CreateAppointmentRequest booking = new CreateAppointmentRequest(
+                                "user-" + client,
+                                List.of(services.get(client % services.size()).getId()),
+                                dateTime, 0, null, "Confirmed");
+                        int created = send(http, HttpRequest.newBuilder(uri("/api/v1/appointments"))
+                                .header("Content-Type", "application/json")
+                                .POST(HttpRequest.BodyPublishers.ofString(objectMapper.writeValueAsString(booking))));
+                        int slots = send(http, HttpRequest.newBuilder(uri("/api/v1/appointments/slots?date=" + dateTime.toLocalDate()))
+                                .GET());
+                        if (created == 201 && slots == 200) {
+                            completed.incrementAndGet();
+                        } else {
+                            failed.incrementAndGet();
+                        }
+                    }
+                    return null;
+                });
+            }
+        }
+    }
+
+    private URI uri(String path) {
+        return URI.create("http://localhost:" + port + path);
+    }
+
+    private static int send(HttpClient http, HttpRequest.Builder request) throws InterruptedException {
+        try {
+            return http.send(request.timeout(REQUEST_TIMEOUT).build(), HttpResponse.BodyHandlers.discarding()).statusCode();
+        } catch (IOException ex) {
+            return -1;
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package com.mtbs.appointments.benchmark;
+
+import com.mtbs.appointments.dto.BulkCreateAppointmentsResponse;
+import com.mtbs.appointments.dto.CreateAppointmentRequest;
+import com.mtbs.appointments.dto.ServiceCatalogueResponse;
+import com.mtbs.appointments.service.AppointmentsService;
+import com.mtbs.appointments.support.StubCatalogueServer;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Imports the same partner batch twice: once as a loop over {@code createAppointment} (what
+ * integrations do today) and once through {@code bulkCreateAppointments}, against a catalogue
+ * stub with fixed latency and the catalogue cache disabled. Reports appointments per second.
+ */
+@Tag("benchmark")
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:bulkbench;DB_CLOSE_DELAY=-1",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.show-sql=false",
+        "service.catalogue.cache.ttl=PT0S",
+        "service.catalogue.cache.negative-ttl=PT0S",
+        "logging.level.com.mtbs.appointments=WARN"
+})
+class BulkCreateBenchmark {
+
+    private static final int BATCH = 1000;
+    private static final int CATALOGUE_SIZE = 20;
+    private static final Duration CATALOGUE_LATENCY = Duration.ofMillis(5);
+
+    private static StubCatalogueServer stub;
+
+    @Autowired
+    private AppointmentsService appointmentsService;
+
+    @DynamicPropertySource
+    static void catalogueProperties(DynamicPropertyRegistry registry) throws IOException {
+        stub = new StubCatalogueServer();
+        stub.setLatency(CATALOGUE_LATENCY);
+        registry.add("service.catalogue.base-url", stub::baseUrl);
+    }
+
+    @AfterAll
+    static void stopStub() {
+        stub.close();
+    }
+
+    @Test
+    void bulkVersusSingleItemLoop() {
+        List<ServiceCatalogueResponse> services = new ArrayList<>();
+        for (int i = 0; i < CATALOGUE_SIZE; i++) {
+            services.add(stub.addService("Service " + i, 10.0 + i, 30));
+        }
+        List<CreateAppointmentRequest> requests = new ArrayList<>();
+        LocalDateTime start = LocalDateTime.now().plusDays(1).withHour(8).withMinute(0).withSecond(0).withNano(0);
+        for (int i = 0; i < BATCH; i++) {
+            requests.add(new CreateAppointmentRequest("partner-" + i,
+                    List.of(services.get(i % CATALOGUE_SIZE).getId(), services.get((i + 7) % CATALOGUE_SIZE).getId()),
+                    start.plusMinutes(30L * i), 0, null, "Confirmed"));
+        }
+
+        // Warm up both paths
+        requests.subList(0, 50).forEach(appointmentsService::createAppointment);
+        appointmentsService.bulkCreateAppointments(requests.subList(0, 50));
+
+        stub.resetCounts();
+        long singleStart = System.nanoTime();
+        requests.forEach(appointmentsService::createAppointment);
+        double singleSeconds = (System.nanoTime() - singleStart) / 1e9;
+        int singleCatalogueCalls = stub.requestCount();
+
+        stub.resetCounts();
+        long bulkStart = System.nanoTime();
+        BulkCreateAppointmentsResponse response = appointmentsService.bulkCreateAppointments(requests);
+        double bulkSeconds = (System.nanoTime() - bulkStart) / 1e9;
+        int bulkCatalogueCalls = stub.requestCount();
+
+        assertThat(response.getCreated()).isEqualTo(BATCH);
+        System.out.printf("[%d appointments x 2 services, catalogue latency %d ms] single-item loop: %.0f appointments/s, %d catalogue calls | bulk: %.0f appointments/s, %d catalogue calls%n",
+                BATCH, CATALOGUE_LATENCY.toMillis(),
+                BATCH / singleSeconds, singleCatalogueCalls,
+                BATCH / bulkSeconds, bulkCatalogueCalls);
+    }
+}
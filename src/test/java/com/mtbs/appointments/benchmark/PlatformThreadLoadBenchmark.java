@@ -0,0 +1,15 @@
+package com.mtbs.appointments.benchmark;
+
+import org.springframework.test.context.TestPropertySource;
+
+@TestPropertySource(properties = {
+        "spring.threads.virtual.enabled=false",
+        "spring.datasource.url=jdbc:h2:mem:platform-threads;DB_CLOSE_DELAY=-1"
+})
+class PlatformThreadLoadBenchmark extends AbstractExecutionModeLoadBenchmark {
+
+    @Override
+    protected String executionModel() {
+        return "platform threads";
+    }
+}
@@ -0,0 +1,157 @@
+package com.mtbs.appointments.benchmark;
+
+import com.mtbs.appointments.dto.AppointmentResponse;
+import com.mtbs.appointments.dto.CreateAppointmentRequest;
+import com.mtbs.appointments.dto.ServiceCatalogueResponse;
+import com.mtbs.appointments.reactive.ReactiveReadServer;
+import com.mtbs.appointments.service.AppointmentsService;
+import com.mtbs.appointments.support.StubCatalogueServer;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Compares appointment reads by ID on the servlet stack (JPA on a deliberately small Tomcat
+ * pool) with the same reads on the reactive R2DBC server, under more concurrent clients than
+ * Tomcat has threads. The appointment cache is off so both paths hit the database. Prints
+ * throughput and latency percentiles for each.
+ */
+@Tag("benchmark")
+@DirtiesContext
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "spring.datasource.url=jdbc:h2:mem:reactivebench;DB_CLOSE_DELAY=-1",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.show-sql=false",
+        "server.tomcat.threads.max=16",
+        "appointments.cache.maximum-size=0",
+        "appointments.reactive.enabled=true",
+        "appointments.reactive.port=0",
+        "appointments.reactive.host=localhost",
+        "appointments.reactive.r2dbc-url=r2dbc:h2:mem:///reactivebench?options=DB_CLOSE_DELAY=-1",
+        "logging.level.com.mtbs.appointments=WARN"
+})
+class ReactiveReadBenchmark {
+
+    private static final int APPOINTMENTS = 500;
+    private static final int CLIENTS = 256;
+    private static final Duration WARM_UP = Duration.ofSeconds(5);
+    private static final Duration RUN_TIME = Duration.ofSeconds(15);
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+
+    private static StubCatalogueServer stub;
+
+    @LocalServerPort
+    private int servletPort;
+
+    @Autowired
+    private ReactiveReadServer reactiveReadServer;
+
+    @Autowired
+    private AppointmentsService appointmentsService;
+
+    @DynamicPropertySource
+    static void catalogueProperties(DynamicPropertyRegistry registry) throws IOException {
+        stub = new StubCatalogueServer();
+        registry.add("service.catalogue.base-url", stub::baseUrl);
+    }
+
+    @AfterAll
+    static void stopStub() {
+        stub.close();
+    }
+
+    @Test
+    void readByIdServletVersusReactive() {
+        ServiceCatalogueResponse haircut = stub.addService("Haircut", 25.0, 30);
+        ServiceCatalogueResponse colour = stub.addService("Colour", 60.0, 90);
+        List<UUID> ids = new ArrayList<>(APPOINTMENTS);
+        for (int i = 0; i < APPOINTMENTS; i++) {
+            AppointmentResponse created = appointmentsService.createAppointment(new CreateAppointmentRequest(
+                    "user-" + i, List.of(haircut.getId(), colour.getId()),
+                    LocalDate.now().plusDays(1 + i / 4).atTime(9, 0).plusHours(2 * (i % 4)), 0, null, "Confirmed"));
+            ids.add(created.getId());
+        }
+
+        HttpClient http = HttpClient.newBuilder()
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .build();
+        double servlet = run("servlet", http, servletPort, ids);
+        double reactive = run("reactive", http, reactiveReadServer.port(), ids);
+        assertThat(servlet).isPositive();
+        assertThat(reactive).isPositive();
+    }
+
+    private double run(String stack, HttpClient http, int port, List<UUID> ids) {
+        readLoop(http, port, ids, WARM_UP, new ConcurrentHistogram(3), new AtomicInteger());
+
+        Histogram latencies = new ConcurrentHistogram(3);
+        AtomicInteger failed = new AtomicInteger();
+        long started = System.nanoTime();
+        readLoop(http, port, ids, RUN_TIME, latencies, failed);
+        double seconds = (System.nanoTime() - started) / 1e9;
+        double throughput = latencies.getTotalCount() / seconds;
+
+        System.out.printf("%n[%s] clients=%d: %d reads (%d failed) in %.1fs = %.1f reads/s, p50=%.1fms p99=%.1fms max=%.1fms%n%n",
+                stack, CLIENTS, latencies.getTotalCount(), failed.get(), seconds, throughput,
+                latencies.getValueAtPercentile(50) / 1e6, latencies.getValueAtPercentile(99) / 1e6,
+                latencies.getMaxValue() / 1e6);
+        return throughput;
+    }
+
+    private static void readLoop(HttpClient http, int port, List<UUID> ids, Duration runTime,
+                                 Histogram latencies, AtomicInteger failed) {
+        long deadline = System.nanoTime() + runTime.toNanos();
+        try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int c = 0; c < CLIENTS; c++) {
+                clients.submit(() -> {
+                    while (System.nanoTime() < deadline) {
+                        UUID id = ids.get(ThreadLocalRandom.current().nextInt(ids.size()));
+                        HttpRequest request = HttpRequest.newBuilder(
+                                        URI.create("http://localhost:" + port + "/api/v1/appointments/" + id))
+                                .timeout(REQUEST_TIMEOUT)
+                                .GET()
+                                .build();
+                        long start = System.nanoTime();
+                        int status;
+                        try {
+                            status = http.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+                        } catch (IOException ex) {
+                            status = -1;
+                        }
+                        if (status == 200) {
+                            latencies.recordValue(System.nanoTime() - start);
+                        } else {
+                            failed.incrementAndGet();
+                        }
+                    }
+                    return null;
+                });
+            }
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package com.mtbs.appointments.benchmark;
+
+import com.mtbs.appointments.dto.CreateAppointmentRequest;
+import com.mtbs.appointments.dto.DaySlotsResponse;
+import com.mtbs.appointments.dto.ServiceCatalogueResponse;
+import com.mtbs.appointments.service.AppointmentsService;
+import com.mtbs.appointments.support.StubCatalogueServer;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.Disposable;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Holds a few thousand idle slot subscriptions on one date open, books one appointment on
+ * that date, and reports how long the update takes to reach every subscriber, along with the
+ * JVM's live thread count while the streams are idle.
+ */
+@Tag("benchmark")
+@DirtiesContext
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "spring.datasource.url=jdbc:h2:mem:slotfanout;DB_CLOSE_DELAY=-1",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.show-sql=false",
+        "appointments.slots.stream.coalesce-window=PT0.1S",
+        "logging.level.com.mtbs.appointments=WARN"
+})
+class SlotStreamFanOutBenchmark {
+
+    private static final int SUBSCRIBERS = Integer.getInteger("fanout.subscribers", 2000);
+
+    private static StubCatalogueServer stub;
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private AppointmentsService appointmentsService;
+
+    @DynamicPropertySource
+    static void catalogueProperties(DynamicPropertyRegistry registry) throws IOException {
+        stub = new StubCatalogueServer();
+        registry.add("service.catalogue.base-url", stub::baseUrl);
+    }
+
+    @AfterAll
+    static void stopStub() {
+        stub.close();
+    }
+
+    @Test
+    void oneBookingReachesEverySubscriber() throws Exception {
+        ServiceCatalogueResponse haircut = stub.addService("Haircut", 25.0, 30);
+        LocalDate date = LocalDate.now().plusDays(3);
+        // One connection per stream, as browsers would have
+        WebClient client = WebClient.builder()
+                .baseUrl("http://localhost:" + port)
+                .clientConnector(new ReactorClientHttpConnector(HttpClient.create(ConnectionProvider.newConnection())))
+                .build();
+
+        CountDownLatch subscribed = new CountDownLatch(SUBSCRIBERS);
+        CountDownLatch updated = new CountDownLatch(SUBSCRIBERS);
+        AtomicLong bookedAt = new AtomicLong();
+        Histogram delivery = new ConcurrentHistogram(3);
+        List<Disposable> subscriptions = new ArrayList<>(SUBSCRIBERS);
+        for (int i = 0; i < SUBSCRIBERS; i++) {
+            subscriptions.add(client.get().uri("/api/v1/appointments/slots/stream?date=" + date)
+                    .retrieve()
+                    .bodyToFlux(new ParameterizedTypeReference<ServerSentEvent<DaySlotsResponse>>() {
+                    })
+                    .filter(event -> event.data() != null)
+                    .subscribe(event -> {
+                        if (event.data().getBookedSlots().isEmpty()) {
+                            subscribed.countDown();
+                        } else {
+                            delivery.recordValue(System.nanoTime() - bookedAt.get());
+                            updated.countDown();
+                        }
+                    }));
+        }
+        try {
+            assertThat(subscribed.await(120, TimeUnit.SECONDS)).isTrue();
+            int idleThreads = ManagementFactory.getThreadMXBean().getThreadCount();
+
+            bookedAt.set(System.nanoTime());
+            appointmentsService.createAppointment(new CreateAppointmentRequest(
+                    "user-1", List.of(haircut.getId()), date.atTime(10, 0), 0, null, "Confirmed"));
+            assertThat(updated.await(120, TimeUnit.SECONDS)).isTrue();
+
+            System.out.printf("%n[slot stream] subscribers=%d, live threads while idle=%d: update delivered to all in %.0fms (p50=%.0fms p99=%.0fms, includes the %s coalescing window)%n%n",
+                    SUBSCRIBERS, idleThreads, delivery.getMaxValue() / 1e6, delivery.getValueAtPercentile(50) / 1e6,
+                    delivery.getValueAtPercentile(99) / 1e6, "100ms");
+        } finally {
+            subscriptions.forEach(Disposable::dispose);
+        }
+    }
+}
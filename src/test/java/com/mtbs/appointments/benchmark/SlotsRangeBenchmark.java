@@ -0,0 +1,127 @@
+package com.mtbs.appointments.benchmark;
+
+import com.mtbs.appointments.model.Appointment;
+import com.mtbs.appointments.model.ServiceModel;
+import com.mtbs.appointments.repository.AppointmentsRepository;
+import com.mtbs.appointments.service.AppointmentsService;
+import com.mtbs.appointments.slots.SlotOccupancyIndex;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Compares rendering a 31-day calendar with one {@code getBookedSlots} call per day against
+ * a single {@code getBookedSlotsRange} call, both starting from an empty slot index so every
+ * day has to come from the database. Reports mean time and SQL statements per calendar.
+ */
+@Tag("benchmark")
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:slotsrange;DB_CLOSE_DELAY=-1",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.show-sql=false",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "appointments.slots.index.warm-days=0",
+        "logging.level.com.mtbs.appointments=WARN",
+        "logging.level.org.hibernate.engine.internal.StatisticalLoggingSessionEventListener=WARN"
+})
+class SlotsRangeBenchmark {
+
+    private static final int DAYS = 31;
+    private static final int APPOINTMENTS_PER_DAY = 20;
+    private static final int WARM_UP_ITERATIONS = 20;
+    private static final int ITERATIONS = 100;
+
+    @Autowired
+    private AppointmentsService appointmentsService;
+
+    @Autowired
+    private AppointmentsRepository appointmentsRepository;
+
+    @Autowired
+    private SlotOccupancyIndex slotOccupancyIndex;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Test
+    void rangeQueryVersusPerDayLoop() {
+        LocalDate from = LocalDate.of(2032, 1, 1);
+        seed(from);
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        for (int i = 0; i < WARM_UP_ITERATIONS; i++) {
+            perDay(from);
+            range(from);
+        }
+
+        long perDayNanos = 0, rangeNanos = 0, perDayStatements = 0, rangeStatements = 0;
+        for (int i = 0; i < ITERATIONS; i++) {
+            statistics.clear();
+            perDayNanos += perDay(from);
+            perDayStatements += statistics.getPrepareStatementCount();
+
+            statistics.clear();
+            rangeNanos += range(from);
+            rangeStatements += statistics.getPrepareStatementCount();
+        }
+
+        System.out.printf("[%d-day calendar, %d appointments/day, cold index] per-day loop: %.2f ms, %.1f statements | range: %.2f ms, %.1f statements%n",
+                DAYS, APPOINTMENTS_PER_DAY,
+                perDayNanos / 1e6 / ITERATIONS, (double) perDayStatements / ITERATIONS,
+                rangeNanos / 1e6 / ITERATIONS, (double) rangeStatements / ITERATIONS);
+        assertThat(rangeStatements).isLessThan(perDayStatements);
+    }
+
+    private long perDay(LocalDate from) {
+        slotOccupancyIndex.rebuild();
+        long start = System.nanoTime();
+        for (int day = 0; day < DAYS; day++) {
+            appointmentsService.getBookedSlots(from.plusDays(day));
+        }
+        return System.nanoTime() - start;
+    }
+
+    private long range(LocalDate from) {
+        slotOccupancyIndex.rebuild();
+        long start = System.nanoTime();
+        appointmentsService.getBookedSlotsRange(from, from.plusDays(DAYS - 1));
+        return System.nanoTime() - start;
+    }
+
+    private void seed(LocalDate from) {
+        List<Appointment> appointments = new ArrayList<>();
+        for (int day = 0; day < DAYS; day++) {
+            for (int i = 0; i < APPOINTMENTS_PER_DAY; i++) {
+                LocalDateTime start = from.plusDays(day).atTime(8, 0).plusMinutes(30L * i);
+                Appointment appointment = new Appointment();
+                appointment.setUserId("bench");
+                appointment.setDateTime(start);
+                appointment.setStatus("Confirmed");
+                appointment.addService(service("Haircut", 30));
+                appointment.addService(service("Wash", 30));
+                appointments.add(appointment);
+            }
+        }
+        appointmentsRepository.saveAll(appointments);
+    }
+
+    private static ServiceModel service(String name, int durationInMinutes) {
+        ServiceModel service = new ServiceModel();
+        service.setServiceCatalogueId(UUID.randomUUID());
+        service.setName(name);
+        service.setDurationInMinutes(durationInMinutes);
+        return service;
+    }
+}
@@ -0,0 +1,70 @@
+package com.mtbs.appointments.benchmark;
+
+import com.mtbs.appointments.model.UuidV7Generator;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.sql.*;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Inserts the same number of rows into a UUID-keyed table in a fresh H2 file database,
+ * once with random (v4) keys as {@code GenerationType.UUID} produces and once with
+ * {@link UuidV7Generator} keys. Reports insert throughput and the space the table and its
+ * primary-key index occupy on disk.
+ */
+@Tag("benchmark")
+class UuidKeyBenchmark {
+
+    private static final int ROWS = 500_000;
+    private static final int BATCH = 1_000;
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void randomVersusTimeOrderedKeys() throws SQLException {
+        Result random = run("v4", UUID::randomUUID);
+        Result timeOrdered = run("v7", UuidV7Generator::next);
+
+        System.out.printf("[%d rows] random v4: %.0f rows/s, %d KB on disk | time-ordered v7: %.0f rows/s, %d KB on disk%n",
+                ROWS, random.rowsPerSecond(), random.kilobytes(), timeOrdered.rowsPerSecond(), timeOrdered.kilobytes());
+        assertThat(timeOrdered.kilobytes()).isPositive();
+    }
+
+    private Result run(String name, Supplier<UUID> ids) throws SQLException {
+        String url = "jdbc:h2:file:" + tempDir.resolve(name).toAbsolutePath();
+        try (Connection connection = DriverManager.getConnection(url, "sa", "")) {
+            try (Statement ddl = connection.createStatement()) {
+                ddl.execute("CREATE TABLE appointment (id UUID PRIMARY KEY, user_id VARCHAR(64), date_time TIMESTAMP)");
+            }
+            connection.setAutoCommit(false);
+            long start = System.nanoTime();
+            try (PreparedStatement insert = connection.prepareStatement("INSERT INTO appointment VALUES (?, ?, CURRENT_TIMESTAMP)")) {
+                for (int i = 1; i <= ROWS; i++) {
+                    insert.setObject(1, ids.get());
+                    insert.setString(2, "user-" + i);
+                    insert.addBatch();
+                    if (i % BATCH == 0) {
+                        insert.executeBatch();
+                        connection.commit();
+                    }
+                }
+            }
+            double seconds = (System.nanoTime() - start) / 1e9;
+            try (Statement stats = connection.createStatement();
+                 ResultSet rs = stats.executeQuery("CALL DISK_SPACE_USED('APPOINTMENT')")) {
+                rs.next();
+                return new Result(ROWS / seconds, rs.getLong(1) / 1024);
+            }
+        }
+    }
+
+    private record Result(double rowsPerSecond, long kilobytes) {
+    }
+}
@@ -0,0 +1,15 @@
+package com.mtbs.appointments.benchmark;
+
+import org.springframework.test.context.TestPropertySource;
+
+@TestPropertySource(properties = {
+        "spring.threads.virtual.enabled=true",
+        "spring.datasource.url=jdbc:h2:mem:virtual-threads;DB_CLOSE_DELAY=-1"
+})
+class VirtualThreadLoadBenchmark extends AbstractExecutionModeLoadBenchmark {
+
+    @Override
+    protected String executionModel() {
+        return "virtual threads";
+    }
+}
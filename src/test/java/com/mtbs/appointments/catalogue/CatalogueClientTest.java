@@ -0,0 +1,289 @@
+package com.mtbs.appointments.catalogue;
+
+import com.mtbs.appointments.config.CatalogueResilienceConfig;
+import com.mtbs.appointments.dto.ServiceCatalogueResponse;
+import com.mtbs.appointments.exception.AppointmentCreationException;
+import com.mtbs.appointments.exception.ServiceUnavailableException;
+import com.mtbs.appointments.support.StubCatalogueServer;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadConfig;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.*;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CatalogueClientTest {
+
+    private StubCatalogueServer stub;
+    private CatalogueClient client;
+    private CircuitBreaker circuitBreaker;
+    private Duration bulkReprobeInterval = Duration.ofMinutes(5);
+    private Duration batchWindow = Duration.ofMillis(5);
+    private int maxBatchSize = 50;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        stub = new StubCatalogueServer();
+        client = newClient(Duration.ofSeconds(5), 100, false);
+    }
+
+    @AfterEach
+    void tearDown() {
+        client.shutdown();
+        stub.close();
+    }
+
+    private CatalogueClient newClient(Duration callTimeout, int maxConcurrentCalls, boolean staleFallback) {
+        // Zero TTLs so every lookup below exercises batching and coalescing rather than the cache.
+        CatalogueCache cache = new CatalogueCache(1000, Duration.ZERO, Duration.ZERO, staleFallback, new SimpleMeterRegistry());
+        circuitBreaker = CircuitBreaker.of("catalogue", CircuitBreakerConfig.custom()
+                .slidingWindowSize(4)
+                .minimumNumberOfCalls(4)
+                .waitDurationInOpenState(Duration.ofMinutes(1))
+                .recordException(CatalogueResilienceConfig::isCatalogueFailure)
+                .build());
+        Bulkhead bulkhead = Bulkhead.of("catalogue", BulkheadConfig.custom()
+                .maxConcurrentCalls(maxConcurrentCalls)
+                .maxWaitDuration(Duration.ZERO)
+                .build());
+        // A disabled replica never answers, so lookups below exercise the HTTP path
+        CatalogueReplica replica = new CatalogueReplica(WebClient.create(stub.baseUrl()), false, Duration.ofMinutes(1),
+                Duration.ofSeconds(5), new SimpleMeterRegistry());
+        return new CatalogueClient(WebClient.create(stub.baseUrl()), cache, replica, circuitBreaker, bulkhead, new SimpleMeterRegistry(),
+                callTimeout, batchWindow, maxBatchSize, bulkReprobeInterval);
+    }
+
+    private CatalogueClient replaceClient(Duration callTimeout, int maxConcurrentCalls, boolean staleFallback) {
+        client.shutdown();
+        client = newClient(callTimeout, maxConcurrentCalls, staleFallback);
+        return client;
+    }
+
+    @Test
+    void burstOfConcurrentBookingsSharesOutboundCalls() throws Exception {
+        stub.setLatency(Duration.ofMillis(50));
+        List<ServiceCatalogueResponse> popular = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            popular.add(stub.addService("Service " + i, 10.0 * i, 30));
+        }
+
+        int bookings = 200;
+        int servicesPerBooking = 3;
+        ExecutorService pool = Executors.newFixedThreadPool(50);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<List<ServiceCatalogueResponse>>> results = new ArrayList<>();
+        for (int i = 0; i < bookings; i++) {
+            List<UUID> ids = List.of(
+                    popular.get(i % 5).getId(),
+                    popular.get((i + 1) % 5).getId(),
+                    popular.get((i + 2) % 5).getId());
+            results.add(pool.submit(() -> {
+                start.await();
+                return client.fetchServices(ids).block(Duration.ofSeconds(10));
+            }));
+        }
+        start.countDown();
+        for (Future<List<ServiceCatalogueResponse>> result : results) {
+            assertThat(result.get(15, TimeUnit.SECONDS)).hasSize(servicesPerBooking);
+        }
+        pool.shutdown();
+
+        int naiveCalls = bookings * servicesPerBooking;
+        assertThat(stub.requestCount()).isLessThanOrEqualTo(naiveCalls / 10);
+        assertThat(stub.singleRequestCount()).isZero();
+    }
+
+    @Test
+    void returnsEntriesInRequestOrderIncludingDuplicates() {
+        ServiceCatalogueResponse haircut = stub.addService("Haircut", 25.0, 30);
+        ServiceCatalogueResponse colour = stub.addService("Colour", 60.0, 90);
+
+        List<ServiceCatalogueResponse> fetched = client.fetchServices(
+                List.of(colour.getId(), haircut.getId(), colour.getId())).block();
+
+        assertThat(fetched).extracting(ServiceCatalogueResponse::getName)
+                .containsExactly("Colour", "Haircut", "Colour");
+    }
+
+    @Test
+    void fallsBackToPerIdLookupsWhenBulkEndpointIsMissing() {
+        stub.setBulkEnabled(false);
+        ServiceCatalogueResponse haircut = stub.addService("Haircut", 25.0, 30);
+        ServiceCatalogueResponse colour = stub.addService("Colour", 60.0, 90);
+
+        List<ServiceCatalogueResponse> fetched = client.fetchServices(List.of(haircut.getId(), colour.getId())).block();
+
+        assertThat(fetched).extracting(ServiceCatalogueResponse::getId)
+                .containsExactly(haircut.getId(), colour.getId());
+        assertThat(stub.singleRequestCount()).isEqualTo(2);
+    }
+
+    /** A batch flushes as soon as it holds {@code size} IDs, and never on a short timer. */
+    private void batchExactly(int size) {
+        batchWindow = Duration.ofSeconds(5);
+        maxBatchSize = size;
+    }
+
+    @Test
+    void bulkEndpointIsProbedAgainAfterTheReprobeInterval() throws Exception {
+        bulkReprobeInterval = Duration.ofSeconds(1);
+        batchExactly(2);
+        replaceClient(Duration.ofSeconds(5), 100, false);
+        stub.setBulkEnabled(false);
+        ServiceCatalogueResponse haircut = stub.addService("Haircut", 25.0, 30);
+        ServiceCatalogueResponse colour = stub.addService("Colour", 60.0, 90);
+        List<UUID> ids = List.of(haircut.getId(), colour.getId());
+        client.fetchServices(ids).block();
+
+        stub.setBulkEnabled(true);
+        stub.resetCounts();
+        client.fetchServices(ids).block();
+        assertThat(stub.bulkRequestCount()).isZero();
+        assertThat(stub.singleRequestCount()).isEqualTo(2);
+
+        Thread.sleep(1500);
+        stub.resetCounts();
+        assertThat(client.fetchServices(ids).block()).extracting(ServiceCatalogueResponse::getId)
+                .containsExactlyElementsOf(ids);
+        assertThat(stub.bulkRequestCount()).isEqualTo(1);
+        assertThat(stub.singleRequestCount()).isZero();
+    }
+
+    @Test
+    void otherClientErrorsOnTheBulkCallDoNotDisableBatching() {
+        batchExactly(2);
+        replaceClient(Duration.ofSeconds(5), 100, false);
+        ServiceCatalogueResponse haircut = stub.addService("Haircut", 25.0, 30);
+        ServiceCatalogueResponse colour = stub.addService("Colour", 60.0, 90);
+        List<UUID> ids = List.of(haircut.getId(), colour.getId());
+
+        stub.setBulkStatus(414);
+        assertThat(client.fetchServices(ids).block()).extracting(ServiceCatalogueResponse::getId)
+                .containsExactlyElementsOf(ids);
+        assertThat(stub.singleRequestCount()).isEqualTo(2);
+
+        stub.setBulkStatus(429);
+        assertThatThrownBy(() -> client.fetchServices(ids).block())
+                .isInstanceOf(ServiceUnavailableException.class);
+
+        stub.setBulkStatus(200);
+        stub.resetCounts();
+        List<UUID> others = List.of(stub.addService("Trim", 15.0, 15).getId(), stub.addService("Shave", 20.0, 20).getId());
+        assertThat(client.fetchServices(others).block()).extracting(ServiceCatalogueResponse::getId)
+                .containsExactlyElementsOf(others);
+        assertThat(stub.bulkRequestCount()).isEqualTo(1);
+        assertThat(stub.singleRequestCount()).isZero();
+    }
+
+    @Test
+    void fullBatchFallingBackToPerIdLookupsStaysWithinTheBulkhead() {
+        replaceClient(Duration.ofSeconds(5), 25, false);
+        stub.setBulkEnabled(false);
+        List<UUID> ids = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            ids.add(stub.addService("Service " + i, 10.0, 30).getId());
+        }
+        // One small lookup finds out the bulk endpoint is missing, so the batch below goes per-ID
+        client.fetchServices(ids.subList(0, 2)).block(Duration.ofSeconds(5));
+        stub.resetCounts();
+        stub.setLatency(Duration.ofMillis(100));
+
+        List<ServiceCatalogueResponse> fetched = client.fetchServices(ids).block(Duration.ofSeconds(10));
+
+        assertThat(fetched).extracting(ServiceCatalogueResponse::getId).containsExactlyElementsOf(ids);
+        assertThat(stub.singleRequestCount()).isEqualTo(50);
+    }
+
+    @Test
+    void unknownIdFailsTheLookup() {
+        ServiceCatalogueResponse haircut = stub.addService("Haircut", 25.0, 30);
+        UUID unknown = UUID.randomUUID();
+
+        assertThatThrownBy(() -> client.fetchServices(List.of(haircut.getId(), unknown)).block())
+                .isInstanceOf(AppointmentCreationException.class)
+                .hasMessageContaining(unknown.toString());
+    }
+
+    @Test
+    void hangingCatalogueFailsWithinTheCallDeadline() {
+        replaceClient(Duration.ofMillis(200), 100, false);
+        ServiceCatalogueResponse haircut = stub.addService("Haircut", 25.0, 30);
+        stub.setLatency(Duration.ofSeconds(3));
+
+        long started = System.nanoTime();
+        assertThatThrownBy(() -> client.fetchService(haircut.getId()).block())
+                .isInstanceOf(ServiceUnavailableException.class);
+        assertThat(Duration.ofNanos(System.nanoTime() - started)).isLessThan(Duration.ofSeconds(2));
+    }
+
+    @Test
+    void openCircuitRejectsLookupsWithoutCallingTheCatalogue() {
+        stub.setErrorRate(1.0);
+        for (int i = 0; i < 4; i++) {
+            UUID id = stub.addService("Service " + i, 10.0, 30).getId();
+            assertThatThrownBy(() -> client.fetchService(id).block()).isInstanceOf(ServiceUnavailableException.class);
+        }
+        assertThat(circuitBreaker.getState()).isEqualTo(CircuitBreaker.State.OPEN);
+
+        stub.resetCounts();
+        UUID id = stub.addService("Another", 10.0, 30).getId();
+        assertThatThrownBy(() -> client.fetchService(id).block())
+                .isInstanceOf(ServiceUnavailableException.class)
+                .hasRootCauseInstanceOf(CallNotPermittedException.class);
+        assertThat(stub.requestCount()).isZero();
+    }
+
+    @Test
+    void unknownIdsDoNotOpenTheCircuit() {
+        for (int i = 0; i < 6; i++) {
+            UUID unknown = UUID.randomUUID();
+            assertThatThrownBy(() -> client.fetchService(unknown).block()).isInstanceOf(AppointmentCreationException.class);
+        }
+        assertThat(circuitBreaker.getState()).isEqualTo(CircuitBreaker.State.CLOSED);
+    }
+
+    @Test
+    void fullBulkheadRejectsFurtherCalls() throws Exception {
+        batchExactly(2);
+        replaceClient(Duration.ofSeconds(5), 1, false);
+        stub.setLatency(Duration.ofMillis(500));
+        ServiceCatalogueResponse haircut = stub.addService("Haircut", 25.0, 30);
+        ServiceCatalogueResponse colour = stub.addService("Colour", 60.0, 90);
+        ServiceCatalogueResponse trim = stub.addService("Trim", 15.0, 15);
+        ServiceCatalogueResponse shave = stub.addService("Shave", 20.0, 20);
+
+        // Bulk calls are not queued, so a second batch while the first is in flight is rejected
+        CompletableFuture<List<ServiceCatalogueResponse>> first =
+                client.fetchServices(List.of(haircut.getId(), colour.getId())).toFuture();
+        Thread.sleep(100);
+        assertThatThrownBy(() -> client.fetchServices(List.of(trim.getId(), shave.getId())).block())
+                .isInstanceOf(ServiceUnavailableException.class);
+        assertThat(first.get(5, TimeUnit.SECONDS)).extracting(ServiceCatalogueResponse::getName)
+                .containsExactly("Haircut", "Colour");
+    }
+
+    @Test
+    void staleFallbackServesLastKnownGoodEntryWhileCatalogueFails() {
+        replaceClient(Duration.ofSeconds(5), 100, true);
+        ServiceCatalogueResponse haircut = stub.addService("Haircut", 25.0, 30);
+        assertThat(client.fetchService(haircut.getId()).block()).isNotNull();
+
+        stub.setErrorRate(1.0);
+        assertThat(client.fetchService(haircut.getId()).block().getName()).isEqualTo("Haircut");
+        UUID neverSeen = stub.addService("Colour", 60.0, 90).getId();
+        assertThatThrownBy(() -> client.fetchService(neverSeen).block()).isInstanceOf(ServiceUnavailableException.class);
+    }
+}
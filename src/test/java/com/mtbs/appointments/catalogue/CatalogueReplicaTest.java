@@ -0,0 +1,83 @@
+package com.mtbs.appointments.catalogue;
+
+import com.mtbs.appointments.dto.CreateAppointmentRequest;
+import com.mtbs.appointments.dto.ServiceCatalogueResponse;
+import com.mtbs.appointments.exception.AppointmentCreationException;
+import com.mtbs.appointments.service.AppointmentsService;
+import com.mtbs.appointments.support.StubCatalogueServer;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:replica;DB_CLOSE_DELAY=-1",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "service.catalogue.replica.enabled=true",
+        "service.catalogue.replica.refresh-interval=PT1H",
+        "service.catalogue.cache.ttl=PT0S"
+})
+class CatalogueReplicaTest {
+
+    private static StubCatalogueServer stub;
+    private static ServiceCatalogueResponse haircut;
+    private static ServiceCatalogueResponse colour;
+
+    @Autowired
+    private AppointmentsService appointmentsService;
+
+    @Autowired
+    private CatalogueReplica catalogueReplica;
+
+    @DynamicPropertySource
+    static void catalogueProperties(DynamicPropertyRegistry registry) throws IOException {
+        stub = new StubCatalogueServer();
+        haircut = stub.addService("Haircut", 25.0, 30);
+        colour = stub.addService("Colour", 60.0, 90);
+        registry.add("service.catalogue.base-url", stub::baseUrl);
+    }
+
+    @AfterAll
+    static void stopStub() {
+        stub.close();
+    }
+
+    @Test
+    void bookingsResolveServicesFromTheReplica() {
+        assertThat(catalogueReplica.size()).isEqualTo(2);
+        stub.resetCounts();
+
+        appointmentsService.createAppointment(booking(haircut.getId(), colour.getId()));
+        assertThat(stub.requestCount()).isZero();
+
+        // Unchanged catalogue: the refresh is a conditional GET answered with 304
+        assertThat(catalogueReplica.refresh()).isFalse();
+        assertThat(stub.listRequestCount()).isEqualTo(1);
+
+        stub.setActive(colour.getId(), false);
+        assertThat(catalogueReplica.refresh()).isTrue();
+        assertThatThrownBy(() -> appointmentsService.createAppointment(booking(colour.getId())))
+                .isInstanceOf(AppointmentCreationException.class);
+
+        // Added after the last refresh: falls back to the catalogue over HTTP
+        ServiceCatalogueResponse beardTrim = stub.addService("Beard trim", 15.0, 30);
+        stub.resetCounts();
+        appointmentsService.createAppointment(booking(beardTrim.getId()));
+        assertThat(stub.singleRequestCount() + stub.bulkRequestCount()).isEqualTo(1);
+    }
+
+    private static CreateAppointmentRequest booking(UUID... serviceIds) {
+        return new CreateAppointmentRequest("user-1", List.of(serviceIds),
+                LocalDateTime.now().plusDays(4).withHour(10).withMinute(0).withSecond(0).withNano(0), 0, null, "Confirmed");
+    }
+}
@@ -0,0 +1,149 @@
+package com.mtbs.appointments.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mtbs.appointments.dto.AppointmentResponse;
+import com.mtbs.appointments.dto.CreateAppointmentRequest;
+import com.mtbs.appointments.dto.ServiceCatalogueResponse;
+import com.mtbs.appointments.dto.UpdateAppointmentRequest;
+import com.mtbs.appointments.service.AppointmentsService;
+import com.mtbs.appointments.slots.SlotOccupancyIndex;
+import com.mtbs.appointments.support.StubCatalogueServer;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@AutoConfigureMockMvc
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:conditional;DB_CLOSE_DELAY=-1",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+class AppointmentsConditionalRequestTest {
+
+    private static StubCatalogueServer stub;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private AppointmentsService appointmentsService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private SlotOccupancyIndex slotOccupancyIndex;
+
+    @DynamicPropertySource
+    static void catalogueProperties(DynamicPropertyRegistry registry) throws IOException {
+        stub = new StubCatalogueServer();
+        registry.add("service.catalogue.base-url", stub::baseUrl);
+    }
+
+    @AfterAll
+    static void stopStub() {
+        stub.close();
+    }
+
+    @Test
+    void getIsConditionalOnVersionAndPutRequiresMatchingVersion() throws Exception {
+        ServiceCatalogueResponse haircut = stub.addService("Haircut", 25.0, 30);
+        LocalDateTime start = LocalDateTime.now().plusDays(5).withHour(10).withMinute(0).withSecond(0).withNano(0);
+        AppointmentResponse created = appointmentsService.createAppointment(new CreateAppointmentRequest(
+                "user-1", List.of(haircut.getId()), start, 0, null, "Confirmed"));
+        String path = "/api/v1/appointments/" + created.getId();
+
+        String etag = mockMvc.perform(get(path))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertThat(etag).isEqualTo("\"v0\"");
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        mockMvc.perform(get(path).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, etag));
+        // The 304 reads only the version, from the database so another instance's change can't be missed
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+
+        String update = objectMapper.writeValueAsString(new UpdateAppointmentRequest(
+                List.of(haircut.getId()), start.plusHours(1), 1, "moved", "Confirmed"));
+        String newEtag = mockMvc.perform(put(path).contentType(MediaType.APPLICATION_JSON).content(update)
+                        .header(HttpHeaders.IF_MATCH, etag))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertThat(newEtag).isEqualTo("\"v1\"");
+
+        // A second writer still holding the old ETag is rejected
+        mockMvc.perform(put(path).contentType(MediaType.APPLICATION_JSON).content(update)
+                        .header(HttpHeaders.IF_MATCH, etag))
+                .andExpect(status().isPreconditionFailed());
+        mockMvc.perform(get(path).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, newEtag));
+    }
+
+    @Test
+    void slotsAreConditionalOnTheirContent() throws Exception {
+        ServiceCatalogueResponse colour = stub.addService("Colour", 60.0, 60);
+        LocalDate day = LocalDate.now().plusDays(6);
+        String path = "/api/v1/appointments/slots?date=" + day;
+
+        String etag = mockMvc.perform(get(path))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.contentTag").doesNotExist())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertThat(etag).isNotNull();
+        mockMvc.perform(get(path).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified());
+
+        appointmentsService.createAppointment(new CreateAppointmentRequest(
+                "user-2", List.of(colour.getId()), day.atTime(15, 0), 0, null, "Confirmed"));
+
+        String changed = mockMvc.perform(get(path).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertThat(changed).isNotEqualTo(etag);
+
+        // Reloading the index, as after a restart or on another instance, keeps the tag
+        slotOccupancyIndex.rebuild();
+        mockMvc.perform(get(path).header(HttpHeaders.IF_NONE_MATCH, changed))
+                .andExpect(status().isNotModified());
+        // The tag depends only on the slots, so another empty date has the empty date's tag
+        assertThat(mockMvc.perform(get("/api/v1/appointments/slots?date=" + day.plusDays(1)))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG)).isEqualTo(etag);
+    }
+
+    @Test
+    void unknownAppointmentIsNotFoundForConditionalRequests() throws Exception {
+        String path = "/api/v1/appointments/" + UUID.randomUUID();
+        mockMvc.perform(get(path).header(HttpHeaders.IF_NONE_MATCH, "\"v0\"")).andExpect(status().isNotFound());
+    }
+}
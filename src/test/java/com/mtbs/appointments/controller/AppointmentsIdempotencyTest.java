@@ -0,0 +1,128 @@
+package com.mtbs.appointments.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mtbs.appointments.dto.AppointmentResponse;
+import com.mtbs.appointments.dto.CreateAppointmentRequest;
+import com.mtbs.appointments.dto.ServiceCatalogueResponse;
+import com.mtbs.appointments.service.AppointmentsService;
+import com.mtbs.appointments.support.StubCatalogueServer;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+
+@AutoConfigureMockMvc
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:idempotency;DB_CLOSE_DELAY=-1",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "service.catalogue.cache.ttl=PT0S"
+})
+class AppointmentsIdempotencyTest {
+
+    private static StubCatalogueServer stub;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private AppointmentsService appointmentsService;
+
+    @DynamicPropertySource
+    static void catalogueProperties(DynamicPropertyRegistry registry) throws IOException {
+        stub = new StubCatalogueServer();
+        registry.add("service.catalogue.base-url", stub::baseUrl);
+    }
+
+    @AfterAll
+    static void stopStub() {
+        stub.close();
+    }
+
+    @Test
+    void retriesWithTheSameKeyReplayTheFirstResponse() throws Exception {
+        ServiceCatalogueResponse haircut = stub.addService("Haircut", 25.0, 30);
+        CreateAppointmentRequest booking = new CreateAppointmentRequest(
+                "user-retry", List.of(haircut.getId()), LocalDate.now().plusDays(3).atTime(10, 0), 0, null, "Confirmed");
+
+        MockHttpServletResponse first = create("key-1", booking);
+        stub.resetCounts();
+        MockHttpServletResponse retry = create("key-1", booking);
+
+        assertThat(first.getStatus()).isEqualTo(201);
+        assertThat(first.getHeader(AppointmentsController.IDEMPOTENT_REPLAYED)).isEqualTo("false");
+        assertThat(retry.getStatus()).isEqualTo(201);
+        assertThat(retry.getHeader(AppointmentsController.IDEMPOTENT_REPLAYED)).isEqualTo("true");
+        assertThat(idOf(retry)).isEqualTo(idOf(first));
+        assertThat(stub.requestCount()).isZero();
+        assertThat(bookingsFor("user-retry")).isEqualTo(1);
+
+        // Same key, different booking
+        booking.setGuests(3);
+        assertThat(create("key-1", booking).getStatus()).isEqualTo(422);
+    }
+
+    @Test
+    void concurrentRequestsWithTheSameKeyShareOneCreation() throws Exception {
+        ServiceCatalogueResponse colour = stub.addService("Colour", 60.0, 90);
+        CreateAppointmentRequest booking = new CreateAppointmentRequest(
+                "user-concurrent", List.of(colour.getId()), LocalDate.now().plusDays(4).atTime(10, 0), 0, null, "Confirmed");
+        stub.setLatency(Duration.ofMillis(300));
+        try {
+            List<Future<MockHttpServletResponse>> responses = new ArrayList<>();
+            try (ExecutorService clients = Executors.newFixedThreadPool(8)) {
+                for (int i = 0; i < 8; i++) {
+                    responses.add(clients.submit(() -> create("key-2", booking)));
+                }
+            }
+            List<String> ids = new ArrayList<>();
+            List<String> replayed = new ArrayList<>();
+            for (Future<MockHttpServletResponse> response : responses) {
+                assertThat(response.get().getStatus()).isEqualTo(201);
+                ids.add(idOf(response.get()));
+                replayed.add(response.get().getHeader(AppointmentsController.IDEMPOTENT_REPLAYED));
+            }
+            assertThat(ids).containsOnly(ids.get(0));
+            assertThat(replayed).containsOnlyOnce("false");
+            assertThat(bookingsFor("user-concurrent")).isEqualTo(1);
+        } finally {
+            stub.setLatency(Duration.ZERO);
+        }
+    }
+
+    private MockHttpServletResponse create(String key, CreateAppointmentRequest booking) throws Exception {
+        return mockMvc.perform(post("/api/v1/appointments")
+                        .header(AppointmentsController.IDEMPOTENCY_KEY, key)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(booking)))
+                .andReturn().getResponse();
+    }
+
+    private String idOf(MockHttpServletResponse response) throws Exception {
+        return objectMapper.readValue(response.getContentAsString(), AppointmentResponse.class).getId().toString();
+    }
+
+    private long bookingsFor(String userId) {
+        return appointmentsService.getAllAppointments().stream().filter(a -> a.getUserId().equals(userId)).count();
+    }
+}
@@ -0,0 +1,78 @@
+package com.mtbs.appointments.controller;
+
+import com.mtbs.appointments.dto.CreateAppointmentRequest;
+import com.mtbs.appointments.dto.ServiceCatalogueResponse;
+import com.mtbs.appointments.support.StubCatalogueServer;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@AutoConfigureMockMvc
+@AutoConfigureObservability(tracing = false)
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:metrics;DB_CLOSE_DELAY=-1",
+        "spring.jpa.hibernate.ddl-auto=create-drop"
+})
+class AppointmentsMetricsTest {
+
+    private static StubCatalogueServer stub;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @DynamicPropertySource
+    static void catalogueProperties(DynamicPropertyRegistry registry) throws IOException {
+        stub = new StubCatalogueServer();
+        registry.add("service.catalogue.base-url", stub::baseUrl);
+    }
+
+    @AfterAll
+    static void stopStub() {
+        stub.close();
+    }
+
+    @Test
+    void prometheusScrapeCoversEveryLayer() throws Exception {
+        ServiceCatalogueResponse haircut = stub.addService("Haircut", 25.0, 30);
+        LocalDateTime start = LocalDateTime.now().plusDays(90).withHour(9).withMinute(0).withSecond(0).withNano(0);
+        String body = objectMapper.writeValueAsString(new CreateAppointmentRequest(
+                "user-1", List.of(haircut.getId()), start, 0, null, "Confirmed"));
+        mockMvc.perform(post("/api/v1/appointments").contentType(MediaType.APPLICATION_JSON).content(body))
+                .andExpect(status().isCreated());
+        mockMvc.perform(get("/api/v1/appointments/slots?date=" + start.toLocalDate().plusDays(1)))
+                .andExpect(status().isOk());
+
+        String scrape = mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        assertThat(scrape)
+                .contains("http_server_requests_seconds_bucket{")
+                .contains("appointments_service_seconds_bucket{")
+                .contains("method=\"createAppointment\"")
+                .contains("spring_data_repository_invocations_seconds_bucket{")
+                .containsPattern("http_client_requests_seconds_count\\{[^}]*outcome=\"SUCCESS\"[^}]*status=\"200\"")
+                .contains("appointments_slots_load_seconds_bucket{")
+                .contains("cache_gets_total{cache=\"slotindex\"");
+    }
+}
@@ -0,0 +1,119 @@
+package com.mtbs.appointments.controller;
+
+import com.mtbs.appointments.dto.CreateAppointmentRequest;
+import com.mtbs.appointments.dto.DaySlotsResponse;
+import com.mtbs.appointments.dto.ServiceCatalogueResponse;
+import com.mtbs.appointments.service.AppointmentsService;
+import com.mtbs.appointments.slots.SlotChangeStream;
+import com.mtbs.appointments.support.StubCatalogueServer;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.Disposable;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "spring.datasource.url=jdbc:h2:mem:slotstream;DB_CLOSE_DELAY=-1",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "appointments.slots.stream.coalesce-window=PT1S",
+        // A disconnect is only noticed on the next write
+        "appointments.slots.stream.heartbeat=PT0.5S"
+})
+class AppointmentsSlotStreamTest {
+
+    private static StubCatalogueServer stub;
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private AppointmentsService appointmentsService;
+
+    @Autowired
+    private SlotChangeStream slotChangeStream;
+
+    @DynamicPropertySource
+    static void catalogueProperties(DynamicPropertyRegistry registry) throws IOException {
+        stub = new StubCatalogueServer();
+        registry.add("service.catalogue.base-url", stub::baseUrl);
+    }
+
+    @AfterAll
+    static void stopStub() {
+        stub.close();
+    }
+
+    @Test
+    void pushesCoalescedSlotUpdatesToEverySubscriberOfTheDate() throws Exception {
+        ServiceCatalogueResponse haircut = stub.addService("Haircut", 25.0, 30);
+        LocalDate date = LocalDate.now().plusDays(5);
+        BlockingQueue<DaySlotsResponse> first = new LinkedBlockingQueue<>();
+        BlockingQueue<DaySlotsResponse> second = new LinkedBlockingQueue<>();
+        Disposable firstSubscription = subscribe("?date=" + date, first);
+        Disposable secondSubscription = subscribe("?from=" + date.minusDays(1) + "&to=" + date, second);
+        try {
+            assertThat(first.poll(10, TimeUnit.SECONDS).getBookedSlots()).isEmpty();
+            List<LocalDate> initialDates = List.of(second.poll(10, TimeUnit.SECONDS).getDate(), second.poll(10, TimeUnit.SECONDS).getDate());
+            assertThat(initialDates).containsExactlyInAnyOrder(date.minusDays(1), date);
+            assertThat(slotChangeStream.subscribedDates()).isEqualTo(2);
+
+            // A burst of bookings within one coalescing window
+            for (int hour = 10; hour <= 12; hour++) {
+                appointmentsService.createAppointment(new CreateAppointmentRequest(
+                        "user-" + hour, List.of(haircut.getId()), date.atTime(hour, 0), 0, null, "Confirmed"));
+            }
+
+            List<DaySlotsResponse> updates = new ArrayList<>();
+            DaySlotsResponse update;
+            do {
+                update = first.poll(10, TimeUnit.SECONDS);
+                assertThat(update).isNotNull();
+                updates.add(update);
+            } while (update.getBookedSlots().size() < 3);
+            assertThat(update.getBookedSlots()).containsExactly("10:00", "11:00", "12:00");
+            assertThat(updates).hasSizeLessThanOrEqualTo(2);
+
+            DaySlotsResponse pushedToRange;
+            do {
+                pushedToRange = second.poll(10, TimeUnit.SECONDS);
+                assertThat(pushedToRange).isNotNull();
+            } while (pushedToRange.getBookedSlots().size() < 3);
+            assertThat(pushedToRange.getDate()).isEqualTo(date);
+        } finally {
+            firstSubscription.dispose();
+            secondSubscription.dispose();
+        }
+
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (slotChangeStream.subscribedDates() > 0 && System.nanoTime() < deadline) {
+            Thread.sleep(50);
+        }
+        assertThat(slotChangeStream.subscribedDates()).isZero();
+    }
+
+    private Disposable subscribe(String query, BlockingQueue<DaySlotsResponse> events) {
+        return WebClient.create("http://localhost:" + port).get()
+                .uri("/api/v1/appointments/slots/stream" + query)
+                .retrieve()
+                .bodyToFlux(new ParameterizedTypeReference<ServerSentEvent<DaySlotsResponse>>() {
+                })
+                .filter(event -> event.data() != null)
+                .subscribe(event -> events.add(event.data()));
+    }
+}
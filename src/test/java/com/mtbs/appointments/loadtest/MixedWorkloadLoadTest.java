@@ -0,0 +1,280 @@
+package com.mtbs.appointments.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mtbs.appointments.dto.CreateAppointmentRequest;
+import com.mtbs.appointments.dto.ServiceCatalogueResponse;
+import com.mtbs.appointments.dto.UpdateAppointmentRequest;
+import com.mtbs.appointments.support.StubCatalogueServer;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Capacity harness: starts the application on a throw-away H2 file database in a JUnit temp
+ * directory, wired to an embedded {@link StubCatalogueServer} with configurable latency and
+ * error rate, and drives a mixed create/read/update/slots workload over HTTP from many
+ * concurrent clients. After a warm-up it reports throughput and HdrHistogram latency
+ * percentiles per operation.
+ * <p>
+ * Run with {@code mvn test -Ploadtest}; the knobs are system properties, e.g.
+ * {@code -Dloadtest.clients=200 -Dloadtest.duration=PT60S -Dloadtest.catalogue.error-rate=0.05}.
+ * Catalogue lookups are not cached, so every create and update pays the stub's latency.
+ */
+@Tag("loadtest")
+@DirtiesContext
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.show-sql=false",
+        "service.catalogue.cache.ttl=PT0S",
+        "service.catalogue.cache.negative-ttl=PT0S",
+        "appointments.schedule.backfill.enabled=false",
+        "logging.level.com.mtbs.appointments=WARN"
+})
+class MixedWorkloadLoadTest {
+
+    private static final int CLIENTS = Integer.getInteger("loadtest.clients", 100);
+    private static final Duration WARM_UP = Duration.parse(System.getProperty("loadtest.warm-up", "PT10S"));
+    private static final Duration RUN_TIME = Duration.parse(System.getProperty("loadtest.duration", "PT30S"));
+    private static final Duration CATALOGUE_LATENCY = Duration.parse(System.getProperty("loadtest.catalogue.latency", "PT0.02S"));
+    private static final double CATALOGUE_ERROR_RATE = Double.parseDouble(System.getProperty("loadtest.catalogue.error-rate", "0.01"));
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+    private static final int KNOWN_IDS = 10_000;
+    private static final int SLOT_DAYS = 30;
+
+    /** Operation mix, as weights out of 100. */
+    private enum Operation {
+        CREATE(20), READ(40), UPDATE(10), SLOTS(30);
+
+        private final int weight;
+
+        Operation(int weight) {
+            this.weight = weight;
+        }
+
+        static Operation pick(int roll) {
+            for (Operation operation : values()) {
+                roll -= operation.weight;
+                if (roll < 0) {
+                    return operation;
+                }
+            }
+            return SLOTS;
+        }
+    }
+
+    private static StubCatalogueServer stub;
+    // Deleted by JUnit after @DirtiesContext has closed the context, so H2 cannot write it back on exit
+    @TempDir
+    static Path databaseDir;
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private final AtomicReferenceArray<UUID> knownIds = new AtomicReferenceArray<>(KNOWN_IDS);
+    private final AtomicInteger createdCount = new AtomicInteger();
+    private final AtomicLong minuteOffset = new AtomicLong();
+
+    @DynamicPropertySource
+    static void loadTestProperties(DynamicPropertyRegistry registry) throws IOException {
+        stub = new StubCatalogueServer();
+        stub.setLatency(CATALOGUE_LATENCY);
+        registry.add("service.catalogue.base-url", stub::baseUrl);
+        registry.add("spring.datasource.url", () -> "jdbc:h2:file:" + databaseDir.resolve("appointments").toAbsolutePath());
+    }
+
+    @AfterAll
+    static void stopStub() {
+        stub.close();
+    }
+
+    @Test
+    void mixedWorkload() throws Exception {
+        List<ServiceCatalogueResponse> services = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            services.add(stub.addService("Service " + i, 20.0, 30 + 15 * (i % 4)));
+        }
+        HttpClient http = HttpClient.newBuilder()
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .build();
+
+        // The warm-up runs without catalogue errors so it leaves appointments to read and update
+        runWorkload(http, services, WARM_UP, new Results());
+
+        stub.setErrorRate(CATALOGUE_ERROR_RATE);
+        Results results = new Results();
+        long started = System.nanoTime();
+        runWorkload(http, services, RUN_TIME, results);
+        double seconds = (System.nanoTime() - started) / 1e9;
+
+        report(results, seconds);
+        assertThat(results.total(Operation.READ)).isPositive();
+    }
+
+    private void runWorkload(HttpClient http, List<ServiceCatalogueResponse> services, Duration runTime, Results results) {
+        long deadline = System.nanoTime() + runTime.toNanos();
+        try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int c = 0; c < CLIENTS; c++) {
+                int client = c;
+                clients.submit(() -> {
+                    ThreadLocalRandom random = ThreadLocalRandom.current();
+                    while (System.nanoTime() < deadline) {
+                        Operation operation = createdCount.get() == 0 ? Operation.CREATE : Operation.pick(random.nextInt(100));
+                        HttpRequest request = request(operation, client, services, random);
+                        long start = System.nanoTime();
+                        HttpResponse<String> response = send(http, request);
+                        results.record(operation, System.nanoTime() - start, response);
+                        if (operation == Operation.CREATE && response != null && response.statusCode() == 201) {
+                            remember(UUID.fromString(objectMapper.readTree(response.body()).get("id").asText()));
+                        }
+                    }
+                    return null;
+                });
+            }
+        }
+    }
+
+    private HttpRequest request(Operation operation, int client, List<ServiceCatalogueResponse> services,
+                                ThreadLocalRandom random) throws IOException {
+        List<UUID> serviceIds = List.of(services.get(random.nextInt(services.size())).getId());
+        return switch (operation) {
+            case CREATE -> {
+                CreateAppointmentRequest booking = new CreateAppointmentRequest("user-" + client, serviceIds,
+                        nextSlot(), 0, null, "Confirmed");
+                yield json(HttpRequest.newBuilder(uri("/api/v1/appointments")), "POST", booking);
+            }
+            case READ -> HttpRequest.newBuilder(uri("/api/v1/appointments/" + randomKnownId(random)))
+                    .timeout(REQUEST_TIMEOUT).GET().build();
+            case UPDATE -> {
+                UpdateAppointmentRequest update = new UpdateAppointmentRequest(serviceIds, nextSlot(), 1,
+                        "moved by load test", "Confirmed");
+                yield json(HttpRequest.newBuilder(uri("/api/v1/appointments/" + randomKnownId(random))), "PUT", update);
+            }
+            case SLOTS -> HttpRequest.newBuilder(uri("/api/v1/appointments/slots?date="
+                            + LocalDate.now().plusDays(1 + random.nextInt(SLOT_DAYS))))
+                    .timeout(REQUEST_TIMEOUT).GET().build();
+        };
+    }
+
+    private HttpRequest json(HttpRequest.Builder builder, String method, Object body) throws IOException {
+        return builder.timeout(REQUEST_TIMEOUT)
+                .header("Content-Type", "application/json")
+                .method(method, HttpRequest.BodyPublishers.ofString(objectMapper.writeValueAsString(body)))
+                .build();
+    }
+
+    private LocalDateTime nextSlot() {
+        long offset = minuteOffset.getAndIncrement() % (SLOT_DAYS * 18L);
+        // Spread bookings over opening hours (09:00-18:00) of the next SLOT_DAYS days
+        return LocalDate.now().plusDays(1 + offset / 18).atTime(9, 0).plusMinutes(30 * (offset % 18));
+    }
+
+    private void remember(UUID id) {
+        knownIds.set(createdCount.getAndIncrement() % KNOWN_IDS, id);
+    }
+
+    private UUID randomKnownId(ThreadLocalRandom random) {
+        UUID id = knownIds.get(random.nextInt(Math.min(createdCount.get(), KNOWN_IDS)));
+        // A slot claimed by a create that has not stored its ID yet
+        return id != null ? id : knownIds.get(0);
+    }
+
+    private URI uri(String path) {
+        return URI.create("http://localhost:" + port + path);
+    }
+
+    private static HttpResponse<String> send(HttpClient http, HttpRequest request) throws InterruptedException {
+        try {
+            return http.send(request, HttpResponse.BodyHandlers.ofString());
+        } catch (IOException ex) {
+            return null;
+        }
+    }
+
+    private void report(Results results, double seconds) {
+        StringBuilder out = new StringBuilder(String.format(
+                "%n[loadtest] clients=%d duration=%.1fs catalogueLatency=%dms catalogueErrorRate=%.3f%n",
+                CLIENTS, seconds, CATALOGUE_LATENCY.toMillis(), CATALOGUE_ERROR_RATE));
+        out.append(String.format("[loadtest] %-7s %9s %8s %8s %9s %9s %9s %9s %9s %9s%n",
+                "op", "requests", "req/s", "errors", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms", "mean ms"));
+        long total = 0;
+        for (Operation operation : Operation.values()) {
+            Histogram histogram = results.latencies.get(operation);
+            long count = histogram.getTotalCount();
+            total += count;
+            out.append(String.format("[loadtest] %-7s %9d %8.1f %8d %9.2f %9.2f %9.2f %9.2f %9.2f %9.2f%n",
+                    operation.name().toLowerCase(Locale.ROOT), count, count / seconds, results.errors.get(operation).get(),
+                    millis(histogram.getValueAtPercentile(50)), millis(histogram.getValueAtPercentile(90)),
+                    millis(histogram.getValueAtPercentile(99)), millis(histogram.getValueAtPercentile(99.9)),
+                    millis(histogram.getMaxValue()), histogram.getMean() / 1000.0));
+        }
+        out.append(String.format("[loadtest] total   %9d %8.1f req/s; error statuses: %s%n", total, total / seconds, results.statuses));
+        System.out.println(out);
+    }
+
+    private static double millis(long micros) {
+        return micros / 1000.0;
+    }
+
+    /** Per-operation latency histograms (microseconds) and error counts for one phase. */
+    private static final class Results {
+
+        private final Map<Operation, Histogram> latencies = new EnumMap<>(Operation.class);
+        private final Map<Operation, AtomicInteger> errors = new EnumMap<>(Operation.class);
+        private final Map<Integer, AtomicInteger> statuses = new TreeMap<>();
+
+        Results() {
+            for (Operation operation : Operation.values()) {
+                latencies.put(operation, new ConcurrentHistogram(TimeUnit.MINUTES.toMicros(1), 3));
+                errors.put(operation, new AtomicInteger());
+            }
+        }
+
+        void record(Operation operation, long elapsedNanos, HttpResponse<String> response) {
+            latencies.get(operation).recordValue(Math.min(TimeUnit.NANOSECONDS.toMicros(elapsedNanos), TimeUnit.MINUTES.toMicros(1)));
+            int status = response == null ? -1 : response.statusCode();
+            if (status >= 300 || status < 0) {
+                errors.get(operation).incrementAndGet();
+                synchronized (statuses) {
+                    statuses.computeIfAbsent(status, s -> new AtomicInteger()).incrementAndGet();
+                }
+            }
+        }
+
+        long total(Operation operation) {
+            return latencies.get(operation).getTotalCount();
+        }
+    }
+}
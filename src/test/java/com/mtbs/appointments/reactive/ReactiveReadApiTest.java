@@ -0,0 +1,88 @@
+package com.mtbs.appointments.reactive;
+
+import com.mtbs.appointments.dto.AppointmentResponse;
+import com.mtbs.appointments.dto.CreateAppointmentRequest;
+import com.mtbs.appointments.dto.ServiceCatalogueResponse;
+import com.mtbs.appointments.dto.SlotsResponse;
+import com.mtbs.appointments.service.AppointmentsService;
+import com.mtbs.appointments.support.StubCatalogueServer;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:reactive;DB_CLOSE_DELAY=-1",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "appointments.reactive.enabled=true",
+        "appointments.reactive.port=0",
+        "appointments.reactive.host=localhost",
+        "appointments.reactive.r2dbc-url=r2dbc:h2:mem:///reactive?options=DB_CLOSE_DELAY=-1"
+})
+class ReactiveReadApiTest {
+
+    private static StubCatalogueServer stub;
+
+    @Autowired
+    private AppointmentsService appointmentsService;
+
+    @Autowired
+    private ReactiveReadServer reactiveReadServer;
+
+    @DynamicPropertySource
+    static void catalogueProperties(DynamicPropertyRegistry registry) throws IOException {
+        stub = new StubCatalogueServer();
+        registry.add("service.catalogue.base-url", stub::baseUrl);
+    }
+
+    @AfterAll
+    static void stopStub() {
+        stub.close();
+    }
+
+    @Test
+    void readsMatchTheServletApi() {
+        ServiceCatalogueResponse haircut = stub.addService("Haircut", 25.0, 30);
+        ServiceCatalogueResponse colour = stub.addService("Colour", 60.0, 90);
+        // Beyond the warm-up window, so the slots come from R2DBC rather than the index
+        LocalDateTime start = LocalDate.now().plusDays(120).atTime(10, 0);
+        AppointmentResponse created = appointmentsService.createAppointment(new CreateAppointmentRequest(
+                "user-1", List.of(haircut.getId(), colour.getId()), start, 2, "window seat", "Confirmed"));
+        appointmentsService.createAppointment(new CreateAppointmentRequest(
+                "user-2", List.of(haircut.getId()), start.plusDays(1), 0, null, "Confirmed"));
+        WebClient client = WebClient.create("http://localhost:" + reactiveReadServer.port() + "/api/v1/appointments");
+
+        AppointmentResponse read = client.get().uri("/{id}", created.getId())
+                .retrieve().bodyToMono(AppointmentResponse.class).block();
+        assertThat(read).usingRecursiveComparison().ignoringCollectionOrder()
+                .isEqualTo(appointmentsService.getAppointmentById(created.getId()).orElseThrow());
+
+        assertThatThrownBy(() -> client.get().uri("/{id}", UUID.randomUUID()).retrieve().bodyToMono(AppointmentResponse.class).block())
+                .isInstanceOf(WebClientResponseException.NotFound.class);
+
+        List<AppointmentResponse> all = client.get().accept(MediaType.APPLICATION_NDJSON)
+                .retrieve().bodyToFlux(AppointmentResponse.class).collectList().block();
+        assertThat(all).hasSize(2);
+        assertThat(all).filteredOn(a -> a.getId().equals(created.getId())).singleElement()
+                .satisfies(a -> assertThat(a.getServices()).hasSize(2));
+
+        SlotsResponse slots = client.get().uri(uri -> uri.path("/slots").queryParam("date", start.toLocalDate()).build())
+                .retrieve().bodyToMono(SlotsResponse.class).block();
+        assertThat(slots.getBookedSlots()).isEqualTo(appointmentsService.getBookedSlots(start.toLocalDate()).getBookedSlots());
+        assertThat(slots.getBookedSlots()).containsExactly("10:00", "10:30", "11:00", "11:30");
+    }
+}
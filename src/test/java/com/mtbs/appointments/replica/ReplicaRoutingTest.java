@@ -0,0 +1,165 @@
+package com.mtbs.appointments.replica;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mtbs.appointments.dto.AppointmentPageResponse;
+import com.mtbs.appointments.dto.AppointmentResponse;
+import com.mtbs.appointments.dto.CreateAppointmentRequest;
+import com.mtbs.appointments.dto.ServiceCatalogueResponse;
+import com.mtbs.appointments.service.AppointmentsService;
+import com.mtbs.appointments.support.StubCatalogueServer;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.Cookie;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+
+/**
+ * Runs against two H2 databases, a primary and a replica that only catches up when
+ * {@link #replicate()} copies the primary over, so each read shows where it was routed.
+ */
+@AutoConfigureMockMvc
+@SpringBootTest(properties = {
+        "spring.datasource.url=" + ReplicaRoutingTest.PRIMARY_URL,
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "appointments.replicas.enabled=true",
+        "appointments.replicas.urls=" + ReplicaRoutingTest.REPLICA_URL,
+        "appointments.replicas.read-your-writes-window=PT30S",
+        "spring.datasource.hikari.maximum-pool-size=7"
+})
+class ReplicaRoutingTest {
+
+    static final String PRIMARY_URL = "jdbc:h2:mem:routingprimary;DB_CLOSE_DELAY=-1";
+    static final String REPLICA_URL = "jdbc:h2:mem:routingreplica;DB_CLOSE_DELAY=-1";
+
+    private static StubCatalogueServer stub;
+
+    @Autowired
+    private AppointmentsService appointmentsService;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @DynamicPropertySource
+    static void catalogueProperties(DynamicPropertyRegistry registry) throws IOException {
+        stub = new StubCatalogueServer();
+        registry.add("service.catalogue.base-url", stub::baseUrl);
+    }
+
+    @AfterAll
+    static void stopStub() {
+        stub.close();
+    }
+
+    @Test
+    void readOnlyTransactionsRunOnTheReplicaUnlessPinnedToThePrimary() throws Exception {
+        ServiceCatalogueResponse haircut = stub.addService("Haircut", 25.0, 30);
+        replicate();
+        AppointmentResponse created = appointmentsService.createAppointment(booking("user-1", haircut.getId(), 10));
+
+        assertThat(appointmentsService.getAppointmentsPage(null, 100).getAppointments())
+                .extracting(AppointmentResponse::getId)
+                .doesNotContain(created.getId());
+        assertThat(ReadRouting.onPrimary(() -> appointmentsService.getAppointmentsPage(null, 100)).getAppointments())
+                .extracting(AppointmentResponse::getId)
+                .contains(created.getId());
+        // The cache is filled from the primary, so a new appointment is found by ID at once
+        assertThat(appointmentsService.getAppointmentById(created.getId())).isPresent();
+
+        replicate();
+        assertThat(appointmentsService.getAppointmentsPage(null, 100).getAppointments())
+                .extracting(AppointmentResponse::getId)
+                .contains(created.getId());
+        assertThat(meterRegistry.counter("appointments.datasource.reads", "target", "replica").count()).isPositive();
+    }
+
+    @Test
+    void primaryPoolKeepsTheConfiguredHikariSettings() {
+        HikariDataSource primary = (HikariDataSource) ((ReplicaRoutingDataSource) dataSource).getTargetDataSource();
+        assertThat(primary.getMaximumPoolSize()).isEqualTo(7);
+        assertThat(primary.getPoolName()).isEqualTo("primary");
+    }
+
+    @Test
+    void clientsReadTheirOwnWritesFromThePrimary() throws Exception {
+        ServiceCatalogueResponse colour = stub.addService("Colour", 60.0, 90);
+        replicate();
+        MockHttpServletResponse write = mockMvc.perform(post("/api/v1/appointments")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(booking("user-2", colour.getId(), 14))))
+                .andReturn().getResponse();
+        assertThat(write.getStatus()).isEqualTo(201);
+        UUID id = objectMapper.readValue(write.getContentAsString(), AppointmentResponse.class).getId();
+        Cookie cookie = write.getCookie(ReadYourWritesFilter.COOKIE);
+        assertThat(cookie).isNotNull();
+
+        assertThat(pageIds(cookie)).contains(id);
+        assertThat(pageIds(null)).doesNotContain(id);
+        // A cookie reaching past the window is ignored
+        Cookie forged = new Cookie(ReadYourWritesFilter.COOKIE, Long.toString(System.currentTimeMillis() + 3_600_000));
+        assertThat(pageIds(forged)).doesNotContain(id);
+    }
+
+    private List<UUID> pageIds(Cookie cookie) throws Exception {
+        var request = get("/api/v1/appointments/page").param("limit", "100");
+        if (cookie != null) {
+            request.cookie(cookie);
+        }
+        MockHttpServletResponse response = mockMvc.perform(request).andReturn().getResponse();
+        assertThat(response.getStatus()).isEqualTo(200);
+        return objectMapper.readValue(response.getContentAsString(), AppointmentPageResponse.class)
+                .getAppointments().stream().map(AppointmentResponse::getId).toList();
+    }
+
+    private static CreateAppointmentRequest booking(String userId, UUID serviceId, int hour) {
+        return new CreateAppointmentRequest(userId, List.of(serviceId), LocalDate.now().plusDays(5).atTime(hour, 0), 0, null, "Confirmed");
+    }
+
+    /** Copies the primary's schema and rows over the replica. */
+    private static void replicate() throws IOException, SQLException {
+        Path script = Files.createTempFile("replica", ".sql");
+        try (Connection primary = DriverManager.getConnection(PRIMARY_URL, "sa", "password");
+             Statement statement = primary.createStatement()) {
+            statement.execute("SCRIPT TO '" + script + "'");
+        }
+        try (Connection replica = DriverManager.getConnection(REPLICA_URL, "sa", "password");
+             Statement statement = replica.createStatement()) {
+            statement.execute("DROP ALL OBJECTS");
+            statement.execute("RUNSCRIPT FROM '" + script + "'");
+        } finally {
+            Files.deleteIfExists(script);
+        }
+    }
+}
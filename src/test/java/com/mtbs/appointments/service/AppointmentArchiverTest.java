@@ -0,0 +1,86 @@
+package com.mtbs.appointments.service;
+
+import com.mtbs.appointments.dto.AppointmentResponse;
+import com.mtbs.appointments.dto.ServiceDTO;
+import com.mtbs.appointments.model.Appointment;
+import com.mtbs.appointments.model.ArchivedAppointment;
+import com.mtbs.appointments.model.ServiceModel;
+import com.mtbs.appointments.repository.AppointmentsRepository;
+import com.mtbs.appointments.repository.ArchivedAppointmentsRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:archive;DB_CLOSE_DELAY=-1",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "appointments.archive.enabled=false",
+        "appointments.archive.horizon=P30D",
+        "appointments.archive.chunk-size=7"
+})
+class AppointmentArchiverTest {
+
+    @Autowired
+    private AppointmentArchiver archiver;
+
+    @Autowired
+    private AppointmentsService appointmentsService;
+
+    @Autowired
+    private AppointmentsRepository appointmentsRepository;
+
+    @Autowired
+    private ArchivedAppointmentsRepository archivedAppointmentsRepository;
+
+    @Test
+    void movesOldAppointmentsInChunksAndStillFindsThemById() {
+        LocalDateTime old = LocalDateTime.now().minusDays(60).withHour(9).withMinute(0).withSecond(0).withNano(0);
+        List<Appointment> past = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            past.add(appointment(old.plusHours(i), 30, 45));
+        }
+        List<Appointment> saved = appointmentsRepository.saveAll(past);
+        Appointment recent = appointmentsRepository.save(appointment(LocalDateTime.now().minusDays(2), 30));
+
+        assertThat(archiver.archive()).isEqualTo(20);
+
+        assertThat(appointmentsRepository.findAll()).extracting(Appointment::getId).containsExactly(recent.getId());
+        assertThat(archivedAppointmentsRepository.count()).isEqualTo(20);
+        assertThat(archivedAppointmentsRepository.findAll())
+                .allSatisfy(archived -> assertThat(archived.getArchivedAt()).isNotNull())
+                .extracting(ArchivedAppointment::getTotalDurationMinutes)
+                .containsOnly(75);
+        assertThat(archiver.archive()).isZero();
+
+        Appointment first = saved.get(0);
+        AppointmentResponse response = appointmentsService.getAppointmentById(first.getId()).orElseThrow();
+        assertThat(response.getDateTime()).isEqualTo(first.getDateTime());
+        assertThat(response.getServices()).extracting(ServiceDTO::getDurationInMinutes).containsExactlyInAnyOrder(30, 45);
+        assertThat(appointmentsService.getAppointmentVersion(first.getId())).contains(first.getVersion());
+        assertThat(appointmentsService.getAppointmentById(recent.getId())).isPresent();
+        assertThat(appointmentsService.getAppointmentById(UUID.randomUUID())).isEmpty();
+    }
+
+    private static Appointment appointment(LocalDateTime dateTime, int... durations) {
+        Appointment appointment = new Appointment();
+        appointment.setUserId("archive");
+        appointment.setDateTime(dateTime);
+        appointment.setStatus("Completed");
+        for (int duration : durations) {
+            ServiceModel service = new ServiceModel();
+            service.setServiceCatalogueId(UUID.randomUUID());
+            service.setName("Service " + duration);
+            service.setDurationInMinutes(duration);
+            appointment.addService(service);
+        }
+        appointment.refreshSchedule();
+        return appointment;
+    }
+}
@@ -0,0 +1,106 @@
+package com.mtbs.appointments.service;
+
+import com.mtbs.appointments.dto.AppointmentResponse;
+import com.mtbs.appointments.dto.CreateAppointmentRequest;
+import com.mtbs.appointments.dto.ServiceCatalogueResponse;
+import com.mtbs.appointments.dto.UpdateAppointmentRequest;
+import com.mtbs.appointments.support.StubCatalogueServer;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:appointmentcache;DB_CLOSE_DELAY=-1",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+class AppointmentCacheTest {
+
+    private static StubCatalogueServer stub;
+
+    @Autowired
+    private AppointmentsService appointmentsService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @DynamicPropertySource
+    static void catalogueProperties(DynamicPropertyRegistry registry) throws IOException {
+        stub = new StubCatalogueServer();
+        registry.add("service.catalogue.base-url", stub::baseUrl);
+    }
+
+    @AfterAll
+    static void stopStub() {
+        stub.close();
+    }
+
+    @Test
+    void repeatedReadsAreServedFromTheCacheUntilTheAppointmentChanges() {
+        ServiceCatalogueResponse haircut = stub.addService("Haircut", 25.0, 30);
+        LocalDateTime start = LocalDateTime.now().plusDays(3).withHour(11).withMinute(0).withSecond(0).withNano(0);
+        UUID id = appointmentsService.createAppointment(new CreateAppointmentRequest(
+                "user-1", List.of(haircut.getId()), start, 0, null, "Confirmed")).getId();
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        assertThat(appointmentsService.getAppointmentById(id)).get().extracting(AppointmentResponse::getVersion).isEqualTo(0L);
+        statistics.clear();
+        for (int i = 0; i < 5; i++) {
+            assertThat(appointmentsService.getAppointmentById(id)).isPresent();
+        }
+        // Each hit only checks the version
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(5);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+        assertThat(statistics.getCollectionLoadCount()).isZero();
+
+        appointmentsService.updateAppointment(id, new UpdateAppointmentRequest(
+                List.of(haircut.getId()), start.plusHours(2), 2, "later", "Confirmed"));
+        AppointmentResponse updated = appointmentsService.getAppointmentById(id).orElseThrow();
+        assertThat(updated.getVersion()).isEqualTo(1L);
+        assertThat(updated.getNotes()).isEqualTo("later");
+
+        appointmentsService.deleteAppointment(id);
+        assertThat(appointmentsService.getAppointmentById(id)).isEmpty();
+
+        assertThat(meterRegistry.get("cache.size").tag("cache", "appointments").gauge()).isNotNull();
+        assertThat(meterRegistry.get("appointments.cache.hit.ratio").gauge().value()).isGreaterThan(0.0);
+    }
+
+    @Test
+    void changesMadeElsewhereAreNotServedFromTheCache() {
+        ServiceCatalogueResponse haircut = stub.addService("Haircut", 25.0, 30);
+        LocalDateTime start = LocalDateTime.now().plusDays(4).withHour(9).withMinute(0).withSecond(0).withNano(0);
+        UUID id = appointmentsService.createAppointment(new CreateAppointmentRequest(
+                "user-2", List.of(haircut.getId()), start, 0, null, "Confirmed")).getId();
+        assertThat(appointmentsService.getAppointmentById(id)).get().extracting(AppointmentResponse::getNotes).isNull();
+
+        // As another instance would: the change commits without an event reaching this cache
+        jdbcTemplate.update("UPDATE appointment SET notes = 'moved by phone', version = version + 1 WHERE id = ?", id);
+
+        AppointmentResponse current = appointmentsService.getAppointmentById(id).orElseThrow();
+        assertThat(current.getVersion()).isEqualTo(1L);
+        assertThat(current.getNotes()).isEqualTo("moved by phone");
+        assertThat(appointmentsService.getAppointmentVersion(id)).contains(1L);
+    }
+}
@@ -0,0 +1,161 @@
+package com.mtbs.appointments.service;
+
+import com.mtbs.appointments.dto.AppointmentChangeResponse;
+import com.mtbs.appointments.dto.AppointmentChangesResponse;
+import com.mtbs.appointments.dto.AppointmentResponse;
+import com.mtbs.appointments.dto.CreateAppointmentRequest;
+import com.mtbs.appointments.dto.ServiceCatalogueResponse;
+import com.mtbs.appointments.dto.UpdateAppointmentRequest;
+import com.mtbs.appointments.model.AppointmentChange;
+import com.mtbs.appointments.support.StubCatalogueServer;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:changes;DB_CLOSE_DELAY=-1",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "appointments.changes.settle-time=PT0S"
+})
+class AppointmentChangeFeedTest {
+
+    private static StubCatalogueServer stub;
+
+    @Autowired
+    private AppointmentsService appointmentsService;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @DynamicPropertySource
+    static void catalogueProperties(DynamicPropertyRegistry registry) throws IOException {
+        stub = new StubCatalogueServer();
+        registry.add("service.catalogue.base-url", stub::baseUrl);
+    }
+
+    @AfterAll
+    static void stopStub() {
+        stub.close();
+    }
+
+    @Test
+    void feedReplaysCreatesUpdatesAndDeletesFromACursor() {
+        ServiceCatalogueResponse haircut = stub.addService("Haircut", 25.0, 30);
+        LocalDateTime start = LocalDate.now().plusDays(10).atTime(9, 0);
+        String cursor = appointmentsService.getChanges(null, 500).getNextCursor();
+
+        List<AppointmentResponse> created = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            created.add(appointmentsService.createAppointment(new CreateAppointmentRequest(
+                    "user-" + i, List.of(haircut.getId()), start.plusHours(i), 0, null, "Confirmed")));
+        }
+        UUID updated = created.get(1).getId();
+        appointmentsService.updateAppointment(updated, new UpdateAppointmentRequest(
+                List.of(haircut.getId()), start.plusDays(1), 0, "moved", "Confirmed"));
+        UUID deleted = created.get(3).getId();
+        appointmentsService.deleteAppointment(deleted);
+
+        // Sync in small pages, applying changes the way a consumer would
+        Map<UUID, AppointmentChangeResponse> replica = new LinkedHashMap<>();
+        AppointmentChangesResponse page;
+        do {
+            page = appointmentsService.getChanges(cursor, 2);
+            assertThat(page.getChanges()).hasSizeLessThanOrEqualTo(2);
+            page.getChanges().forEach(change -> replica.put(change.getAppointmentId(), change));
+            cursor = page.getNextCursor();
+        } while (page.isHasMore());
+
+        assertThat(replica).containsOnlyKeys(created.stream().map(AppointmentResponse::getId).toList());
+        assertThat(replica.get(deleted).getType()).isEqualTo(AppointmentChange.Type.DELETED);
+        assertThat(replica.get(deleted).getAppointment()).isNull();
+        assertThat(replica.get(updated).getType()).isEqualTo(AppointmentChange.Type.UPDATED);
+        assertThat(replica.get(updated).getAppointment().getNotes()).isEqualTo("moved");
+        assertThat(replica.get(created.get(0).getId()).getAppointment().getUserId()).isEqualTo("user-0");
+
+        // Nothing new: the cursor stays put
+        AppointmentChangesResponse idle = appointmentsService.getChanges(cursor, 2);
+        assertThat(idle.getChanges()).isEmpty();
+        assertThat(idle.getNextCursor()).isEqualTo(cursor);
+        assertThat(idle.isHasMore()).isFalse();
+    }
+
+    @Test
+    void feedOrderFollowsCommitOrderAcrossInterleavedWriters() throws Exception {
+        ServiceCatalogueResponse colour = stub.addService("Colour", 60.0, 90);
+        LocalDateTime start = LocalDate.now().plusDays(12).atTime(9, 0);
+        String cursor = appointmentsService.getChanges(null, 500).getNextCursor();
+        AppointmentResponse earlier = appointmentsService.createAppointment(new CreateAppointmentRequest(
+                "user-earlier", List.of(colour.getId()), start, 0, null, "Confirmed"));
+
+        // Writer 1 books first but commits last; writer 2 commits in between
+        CountDownLatch booked = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        AppointmentResponse second;
+        Future<AppointmentResponse> first;
+        try (ExecutorService writer = Executors.newSingleThreadExecutor()) {
+            first = writer.submit(() -> transaction.execute(status -> {
+                AppointmentResponse response = appointmentsService.createAppointment(new CreateAppointmentRequest(
+                        "user-first", List.of(colour.getId()), start.plusHours(2), 0, null, "Confirmed"));
+                booked.countDown();
+                try {
+                    release.await(10, TimeUnit.SECONDS);
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                }
+                return response;
+            }));
+            assertThat(booked.await(10, TimeUnit.SECONDS)).isTrue();
+            second = appointmentsService.createAppointment(new CreateAppointmentRequest(
+                    "user-second", List.of(colour.getId()), start.plusHours(4), 0, null, "Confirmed"));
+            // Another instance writing to the same log in between
+            jdbcTemplate.update("INSERT INTO appointment_change (sequence, appointment_id, type, recorded_at) "
+                    + "VALUES (NEXT VALUE FOR appointment_change_seq, ?, 'UPDATED', CURRENT_TIMESTAMP)", UUID.randomUUID());
+            release.countDown();
+        }
+
+        List<UUID> order = new ArrayList<>();
+        Map<UUID, Long> sequences = new LinkedHashMap<>();
+        AppointmentChangesResponse page;
+        do {
+            page = appointmentsService.getChanges(cursor, 500);
+            page.getChanges().forEach(change -> {
+                order.add(change.getAppointmentId());
+                sequences.put(change.getAppointmentId(), change.getSequence());
+            });
+            cursor = page.getNextCursor();
+        } while (page.isHasMore());
+
+        assertThat(order).containsSubsequence(earlier.getId(), second.getId(), first.get().getId());
+        // Numbers are drawn from the shared sequence at commit, not from a block this instance reserved earlier
+        Long foreign = jdbcTemplate.queryForObject(
+                "SELECT sequence FROM appointment_change WHERE type = 'UPDATED' ORDER BY sequence DESC LIMIT 1", Long.class);
+        assertThat(sequences.get(second.getId())).isLessThan(foreign);
+        assertThat(sequences.get(first.get().getId())).isGreaterThan(foreign);
+    }
+}
@@ -0,0 +1,68 @@
+package com.mtbs.appointments.service;
+
+import com.mtbs.appointments.model.Appointment;
+import com.mtbs.appointments.model.ServiceModel;
+import com.mtbs.appointments.repository.AppointmentsRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:backfill;DB_CLOSE_DELAY=-1",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "appointments.schedule.backfill.chunk-size=7"
+})
+class AppointmentScheduleBackfillTest {
+
+    @Autowired
+    private AppointmentScheduleBackfill backfill;
+
+    @Autowired
+    private AppointmentsRepository appointmentsRepository;
+
+    @Test
+    void fillsScheduleColumnsOfLegacyRowsInChunks() {
+        LocalDateTime base = LocalDateTime.of(2033, 6, 1, 9, 0);
+        List<Appointment> legacy = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            // Saved without refreshSchedule(), like rows written before the columns existed
+            legacy.add(appointment(base.plusHours(i), 30, 45));
+        }
+        appointmentsRepository.saveAll(legacy);
+
+        assertThat(backfill.backfill()).isEqualTo(20);
+
+        assertThat(appointmentsRepository.findAll()).allSatisfy(appointment -> {
+            assertThat(appointment.getTotalDurationMinutes()).isEqualTo(75);
+            assertThat(appointment.getEndDateTime()).isEqualTo(appointment.getDateTime().plusMinutes(75));
+        });
+        assertThat(backfill.backfill()).isZero();
+
+        // 10:00-11:15 and 11:00-12:15 intersect [11:10, 11:20); 09:00-10:15 does not
+        assertThat(appointmentsRepository.findOverlapping(base.plusMinutes(130), base.plusMinutes(140)))
+                .extracting(Appointment::getDateTime)
+                .containsExactly(base.plusHours(1), base.plusHours(2));
+    }
+
+    private static Appointment appointment(LocalDateTime dateTime, int... durations) {
+        Appointment appointment = new Appointment();
+        appointment.setUserId("legacy");
+        appointment.setDateTime(dateTime);
+        appointment.setStatus("Confirmed");
+        for (int duration : durations) {
+            ServiceModel service = new ServiceModel();
+            service.setServiceCatalogueId(UUID.randomUUID());
+            service.setName("Service " + duration);
+            service.setDurationInMinutes(duration);
+            appointment.addService(service);
+        }
+        return appointment;
+    }
+}
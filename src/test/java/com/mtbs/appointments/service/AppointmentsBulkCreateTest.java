@@ -0,0 +1,98 @@
+package com.mtbs.appointments.service;
+
+import com.mtbs.appointments.dto.BulkCreateAppointmentsResponse;
+import com.mtbs.appointments.dto.BulkItemResult;
+import com.mtbs.appointments.dto.CreateAppointmentRequest;
+import com.mtbs.appointments.dto.ServiceCatalogueResponse;
+import com.mtbs.appointments.repository.AppointmentsRepository;
+import com.mtbs.appointments.support.StubCatalogueServer;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:bulk;DB_CLOSE_DELAY=-1",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "service.catalogue.cache.ttl=PT0S",
+        "service.catalogue.cache.negative-ttl=PT0S",
+        "appointments.bulk.chunk-size=50"
+})
+class AppointmentsBulkCreateTest {
+
+    private static StubCatalogueServer stub;
+
+    @Autowired
+    private AppointmentsService appointmentsService;
+
+    @Autowired
+    private AppointmentsRepository appointmentsRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @DynamicPropertySource
+    static void catalogueProperties(DynamicPropertyRegistry registry) throws IOException {
+        stub = new StubCatalogueServer();
+        registry.add("service.catalogue.base-url", stub::baseUrl);
+    }
+
+    @AfterAll
+    static void stopStub() {
+        stub.close();
+    }
+
+    @Test
+    void createsValidItemsAndReportsEachFailure() {
+        ServiceCatalogueResponse haircut = stub.addService("Haircut", 25.0, 30);
+        ServiceCatalogueResponse wash = stub.addService("Wash", 10.0, 15);
+        LocalDateTime start = LocalDateTime.now().plusDays(3).withHour(9).withMinute(0).withSecond(0).withNano(0);
+        List<CreateAppointmentRequest> requests = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            requests.add(request(start.plusMinutes(30L * i), haircut.getId(), wash.getId()));
+        }
+        requests.set(10, request(LocalDateTime.now().minusDays(1), haircut.getId()));
+        UUID unknown = UUID.randomUUID();
+        requests.set(20, request(start, haircut.getId(), unknown));
+        stub.resetCounts();
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        BulkCreateAppointmentsResponse response = appointmentsService.bulkCreateAppointments(requests);
+
+        assertThat(response.getCreated()).isEqualTo(98);
+        assertThat(response.getFailed()).isEqualTo(2);
+        assertThat(response.getResults()).extracting(BulkItemResult::getIndex)
+                .containsExactlyElementsOf(IntStream.range(0, 100).boxed().toList());
+        assertThat(response.getResults().get(10).getError()).contains("dateTime");
+        assertThat(response.getResults().get(20).getError()).contains(unknown.toString());
+        assertThat(response.getResults().get(0).getId()).isNotNull();
+        assertThat(appointmentsRepository.count()).isEqualTo(98);
+
+        // Three distinct IDs across the batch: at most one lookup each
+        assertThat(stub.requestCount()).isLessThanOrEqualTo(3);
+        // 98 appointments, 196 service rows and 98 change-log entries, inserted as JDBC batches rather than row by row
+        assertThat(statistics.getEntityInsertCount()).isEqualTo(98 + 196 + 98);
+        // plus one sequence call per change-log entry, whose numbers aren't pooled so the feed follows commit order
+        assertThat(statistics.getPrepareStatementCount()).isLessThan(20 + 98);
+    }
+
+    private static CreateAppointmentRequest request(LocalDateTime dateTime, UUID... serviceIds) {
+        return new CreateAppointmentRequest("partner", List.of(serviceIds), dateTime, 0, null, "Confirmed");
+    }
+}
@@ -0,0 +1,102 @@
+package com.mtbs.appointments.service;
+
+import com.mtbs.appointments.dto.AppointmentPageResponse;
+import com.mtbs.appointments.dto.AppointmentResponse;
+import com.mtbs.appointments.model.Appointment;
+import com.mtbs.appointments.model.ServiceModel;
+import com.mtbs.appointments.repository.AppointmentsRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:paging;DB_CLOSE_DELAY=-1",
+        "spring.jpa.hibernate.ddl-auto=create-drop"
+})
+class AppointmentsPagingTest {
+
+    @Autowired
+    private AppointmentsService appointmentsService;
+
+    @Autowired
+    private AppointmentsRepository appointmentsRepository;
+
+    private List<Appointment> saved;
+
+    @BeforeEach
+    void seed() {
+        appointmentsRepository.deleteAll();
+        LocalDateTime base = LocalDateTime.of(2030, 1, 1, 9, 0);
+        List<Appointment> appointments = new ArrayList<>();
+        for (int i = 0; i < 250; i++) {
+            // Several appointments share a start time, so the id tie-breaker matters
+            appointments.add(appointment(base.plusMinutes(30L * (i / 3))));
+        }
+        saved = appointmentsRepository.saveAll(appointments).stream()
+                // The database orders UUIDs as unsigned bytes, which matches their string form
+                .sorted(Comparator.comparing(Appointment::getDateTime).thenComparing(a -> a.getId().toString()))
+                .toList();
+    }
+
+    @Test
+    void pagesWalkEveryAppointmentOnceInKeysetOrder() {
+        List<UUID> seen = new ArrayList<>();
+        String cursor = null;
+        do {
+            AppointmentPageResponse page = appointmentsService.getAppointmentsPage(cursor, 40);
+            assertThat(page.getAppointments()).hasSizeLessThanOrEqualTo(40);
+            page.getAppointments().forEach(appointment -> {
+                assertThat(appointment.getServices()).hasSize(2);
+                seen.add(appointment.getId());
+            });
+            cursor = page.getNextCursor();
+        } while (cursor != null);
+
+        assertThat(seen).containsExactlyElementsOf(saved.stream().map(Appointment::getId).toList());
+    }
+
+    @Test
+    void streamEmitsEveryAppointmentWithServices() {
+        List<AppointmentResponse> streamed = new ArrayList<>();
+        appointmentsService.streamAllAppointments(streamed::add);
+
+        assertThat(streamed).extracting(AppointmentResponse::getId)
+                .containsExactlyElementsOf(saved.stream().map(Appointment::getId).toList());
+        assertThat(streamed).allSatisfy(appointment -> assertThat(appointment.getServices()).hasSize(2));
+    }
+
+    @Test
+    void rejectsMalformedCursor() {
+        assertThatThrownBy(() -> appointmentsService.getAppointmentsPage("not-a-cursor", 10))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static Appointment appointment(LocalDateTime dateTime) {
+        Appointment appointment = new Appointment();
+        appointment.setUserId("user");
+        appointment.setDateTime(dateTime);
+        appointment.setStatus("Confirmed");
+        appointment.setCreatedAt(LocalDateTime.now());
+        appointment.setUpdatedAt(LocalDateTime.now());
+        for (int i = 0; i < 2; i++) {
+            ServiceModel service = new ServiceModel();
+            service.setServiceCatalogueId(UUID.randomUUID());
+            service.setName("Service " + i);
+            service.setPrice(10.0);
+            service.setDurationInMinutes(30);
+            appointment.addService(service);
+        }
+        appointment.setTotalCost(20.0);
+        return appointment;
+    }
+}
@@ -0,0 +1,90 @@
+package com.mtbs.appointments.service;
+
+import com.mtbs.appointments.dto.AppointmentResponse;
+import com.mtbs.appointments.dto.CreateAppointmentRequest;
+import com.mtbs.appointments.dto.ServiceCatalogueResponse;
+import com.mtbs.appointments.support.StubCatalogueServer;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Books many appointments concurrently against a slow catalogue with a two-connection pool
+ * and a pool timeout shorter than the catalogue latency. This only passes if no connection
+ * is held while waiting for the catalogue.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:concurrency;DB_CLOSE_DELAY=-1",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.datasource.hikari.maximum-pool-size=2",
+        "spring.datasource.hikari.connection-timeout=1500",
+        "service.catalogue.cache.ttl=PT0S",
+        "service.catalogue.cache.negative-ttl=PT0S",
+        // The catalogue is deliberately slower than the default deadlines
+        "service.catalogue.response-timeout=PT10S",
+        "service.catalogue.call-timeout=PT10S"
+})
+class AppointmentsServiceConcurrencyTest {
+
+    private static final Duration CATALOGUE_LATENCY = Duration.ofMillis(2500);
+
+    private static StubCatalogueServer stub;
+
+    @Autowired
+    private AppointmentsService appointmentsService;
+
+    @DynamicPropertySource
+    static void catalogueProperties(DynamicPropertyRegistry registry) throws IOException {
+        stub = new StubCatalogueServer();
+        registry.add("service.catalogue.base-url", stub::baseUrl);
+    }
+
+    @AfterAll
+    static void stopStub() {
+        stub.close();
+    }
+
+    @Test
+    void slowCatalogueDoesNotExhaustConnectionPool() throws Exception {
+        stub.setLatency(CATALOGUE_LATENCY);
+        int bookings = 20;
+        List<ServiceCatalogueResponse> services = new ArrayList<>();
+        for (int i = 0; i < bookings; i++) {
+            services.add(stub.addService("Service " + i, 20.0, 30));
+        }
+
+        ExecutorService pool = Executors.newFixedThreadPool(bookings);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<AppointmentResponse>> results = new ArrayList<>();
+        for (int i = 0; i < bookings; i++) {
+            CreateAppointmentRequest request = new CreateAppointmentRequest(
+                    "user-" + i,
+                    List.of(services.get(i).getId()),
+                    LocalDateTime.now().plusDays(1).withHour(9).withMinute(0).withSecond(0).withNano(0).plusMinutes(30L * i),
+                    0, null, "Confirmed");
+            results.add(pool.submit(() -> {
+                start.await();
+                return appointmentsService.createAppointment(request);
+            }));
+        }
+        start.countDown();
+
+        for (Future<AppointmentResponse> result : results) {
+            assertThat(result.get(30, TimeUnit.SECONDS).getId()).isNotNull();
+        }
+        pool.shutdown();
+        assertThat(appointmentsService.getAllAppointments()).hasSize(bookings);
+    }
+}
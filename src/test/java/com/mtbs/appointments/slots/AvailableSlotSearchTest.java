@@ -0,0 +1,82 @@
+package com.mtbs.appointments.slots;
+
+import com.mtbs.appointments.dto.AvailableSlotsResponse;
+import com.mtbs.appointments.dto.CreateAppointmentRequest;
+import com.mtbs.appointments.dto.ServiceCatalogueResponse;
+import com.mtbs.appointments.service.AppointmentsService;
+import com.mtbs.appointments.support.StubCatalogueServer;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:slotsearch;DB_CLOSE_DELAY=-1",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+class AvailableSlotSearchTest {
+
+    private static StubCatalogueServer stub;
+
+    @Autowired
+    private AppointmentsService appointmentsService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @DynamicPropertySource
+    static void catalogueProperties(DynamicPropertyRegistry registry) throws IOException {
+        stub = new StubCatalogueServer();
+        registry.add("service.catalogue.base-url", stub::baseUrl);
+    }
+
+    @AfterAll
+    static void stopStub() {
+        stub.close();
+    }
+
+    @Test
+    void findsStartTimesWithEnoughContiguousFreeTime() {
+        ServiceCatalogueResponse haircut = stub.addService("Haircut", 25.0, 30);
+        ServiceCatalogueResponse colour = stub.addService("Colour", 60.0, 90);
+        ServiceCatalogueResponse fullDay = stub.addService("Full day", 300.0, 480);
+        LocalDate date = LocalDate.now().plusDays(6);
+        // Busy 09:00-10:30 and 11:00-11:30
+        appointmentsService.createAppointment(new CreateAppointmentRequest(
+                "user-1", List.of(colour.getId()), date.atTime(9, 0), 0, null, "Confirmed"));
+        appointmentsService.createAppointment(new CreateAppointmentRequest(
+                "user-2", List.of(haircut.getId()), date.atTime(11, 0), 0, null, "Confirmed"));
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        AvailableSlotsResponse colourSlots = appointmentsService.findAvailableSlots(List.of(colour.getId()), date, 3);
+        assertThat(colourSlots.getDurationMinutes()).isEqualTo(90);
+        assertThat(colourSlots.getStartTimes()).containsExactly(
+                date.atTime(11, 30), date.atTime(12, 0), date.atTime(12, 30));
+        // The dates are indexed, so the search itself runs in memory
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+
+        assertThat(appointmentsService.findAvailableSlots(List.of(haircut.getId()), date, 2).getStartTimes())
+                .containsExactly(date.atTime(10, 30), date.atTime(11, 30));
+
+        // Eight hours no longer fit on the day, so the search moves on to the next one
+        assertThat(appointmentsService.findAvailableSlots(List.of(fullDay.getId()), date, 2).getStartTimes())
+                .containsExactly(date.plusDays(1).atTime(9, 0), date.plusDays(1).atTime(9, 30));
+
+        assertThatThrownBy(() -> appointmentsService.findAvailableSlots(List.of(haircut.getId()), date, 0))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
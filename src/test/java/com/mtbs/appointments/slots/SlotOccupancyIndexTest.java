@@ -0,0 +1,163 @@
+package com.mtbs.appointments.slots;
+
+import com.mtbs.appointments.dto.AppointmentResponse;
+import com.mtbs.appointments.dto.CreateAppointmentRequest;
+import com.mtbs.appointments.dto.DaySlotsResponse;
+import com.mtbs.appointments.dto.ServiceCatalogueResponse;
+import com.mtbs.appointments.dto.UpdateAppointmentRequest;
+import com.mtbs.appointments.service.AppointmentsService;
+import com.mtbs.appointments.support.StubCatalogueServer;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.Base64;
+import java.util.BitSet;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:slotindex;DB_CLOSE_DELAY=-1",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "appointments.slots.index.ttl=PT3S"
+})
+class SlotOccupancyIndexTest {
+
+    private static StubCatalogueServer stub;
+
+    @Autowired
+    private AppointmentsService appointmentsService;
+
+    @Autowired
+    private SlotOccupancyIndex slotOccupancyIndex;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @DynamicPropertySource
+    static void catalogueProperties(DynamicPropertyRegistry registry) throws IOException {
+        stub = new StubCatalogueServer();
+        registry.add("service.catalogue.base-url", stub::baseUrl);
+    }
+
+    @AfterAll
+    static void stopStub() {
+        stub.close();
+    }
+
+    @Test
+    void createUpdateAndDeleteKeepTheIndexCurrent() {
+        ServiceCatalogueResponse haircut = stub.addService("Haircut", 25.0, 30);
+        ServiceCatalogueResponse colour = stub.addService("Colour", 60.0, 75);
+        LocalDate day = LocalDate.of(2031, 3, 10);
+        LocalDate nextDay = day.plusDays(1);
+        assertThat(appointmentsService.getBookedSlots(day).getBookedSlots()).isEmpty();
+
+        // 105 minutes books 09:00, 09:30 and 10:00; the last 15 minutes don't fill a slot
+        AppointmentResponse created = appointmentsService.createAppointment(new CreateAppointmentRequest(
+                "user-1", List.of(haircut.getId(), colour.getId()), day.atTime(9, 0), 0, null, "Confirmed"));
+        assertThat(appointmentsService.getBookedSlots(day).getBookedSlots()).containsExactly("09:00", "09:30", "10:00");
+
+        appointmentsService.updateAppointment(created.getId(), new UpdateAppointmentRequest(
+                List.of(haircut.getId()), nextDay.atTime(23, 30), 0, null, "Confirmed"));
+        assertThat(appointmentsService.getBookedSlots(day).getBookedSlots()).isEmpty();
+        assertThat(appointmentsService.getBookedSlots(nextDay).getBookedSlots()).containsExactly("23:30");
+
+        appointmentsService.deleteAppointment(created.getId());
+        assertThat(appointmentsService.getBookedSlots(nextDay).getBookedSlots()).isEmpty();
+    }
+
+    @Test
+    void coldDayCostsOneStatementAndIndexedDayNone() {
+        ServiceCatalogueResponse haircut = stub.addService("Haircut", 25.0, 30);
+        ServiceCatalogueResponse wash = stub.addService("Wash", 10.0, 30);
+        LocalDate day = LocalDate.of(2031, 4, 1);
+        for (int i = 0; i < 5; i++) {
+            appointmentsService.createAppointment(new CreateAppointmentRequest(
+                    "user-2", List.of(haircut.getId(), wash.getId()), day.atTime(9 + 2 * i, 0), 0, null, "Confirmed"));
+        }
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        statistics.clear();
+        assertThat(appointmentsService.getBookedSlots(day).getBookedSlots())
+                .containsExactly("09:00", "09:30", "11:00", "11:30", "13:00", "13:30", "15:00", "15:30", "17:00", "17:30");
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+        assertThat(statistics.getCollectionLoadCount()).isZero();
+
+        statistics.clear();
+        for (int i = 0; i < 100; i++) {
+            appointmentsService.getBookedSlots(day);
+        }
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+        assertThat(slotOccupancyIndex.occupancy(day).isBooked(LocalTime.of(17, 30))).isTrue();
+
+        statistics.clear();
+        appointmentsService.getBookedSlotsRange(day.plusDays(1), day.plusDays(7));
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    void rebuildReloadsFromTheDatabase() {
+        ServiceCatalogueResponse haircut = stub.addService("Haircut", 25.0, 30);
+        LocalDate day = LocalDate.now().plusDays(2);
+        appointmentsService.createAppointment(new CreateAppointmentRequest(
+                "user-3", List.of(haircut.getId()), day.atTime(11, 0), 0, null, "Confirmed"));
+
+        slotOccupancyIndex.rebuild();
+
+        assertThat(slotOccupancyIndex.indexedDays()).isGreaterThanOrEqualTo(30);
+        assertThat(appointmentsService.getBookedSlots(day).getBookedSlots()).contains("11:00");
+    }
+
+    @Test
+    void writesThatBypassTheServiceAreSeenOnceTheDayExpires() throws InterruptedException {
+        ServiceCatalogueResponse haircut = stub.addService("Haircut", 25.0, 30);
+        LocalDate day = LocalDate.of(2031, 6, 2);
+        AppointmentResponse created = appointmentsService.createAppointment(new CreateAppointmentRequest(
+                "user-5", List.of(haircut.getId()), day.atTime(10, 0), 0, null, "Confirmed"));
+        assertThat(appointmentsService.getBookedSlots(day).getBookedSlots()).containsExactly("10:00");
+
+        // As another instance or a manual fix would: no event reaches this index
+        jdbcTemplate.update("UPDATE appointment SET date_time = ?, end_date_time = ? WHERE id = ?",
+                day.atTime(14, 0), day.atTime(14, 30), created.getId());
+        assertThat(appointmentsService.getBookedSlots(day).getBookedSlots()).containsExactly("10:00");
+
+        Thread.sleep(3_500);
+        assertThat(appointmentsService.getBookedSlots(day).getBookedSlots()).containsExactly("14:00");
+    }
+
+    @Test
+    void rangeReturnsEveryDayWithSlotsAndBitmap() {
+        ServiceCatalogueResponse colour = stub.addService("Colour", 60.0, 60);
+        LocalDate from = LocalDate.of(2031, 5, 1);
+        appointmentsService.createAppointment(new CreateAppointmentRequest(
+                "user-4", List.of(colour.getId()), from.plusDays(2).atTime(9, 15), 0, null, "Confirmed"));
+
+        List<DaySlotsResponse> days = appointmentsService.getBookedSlotsRange(from, from.plusDays(6)).getDays();
+
+        assertThat(days).extracting(DaySlotsResponse::getDate)
+                .containsExactlyElementsOf(from.datesUntil(from.plusDays(7)).toList());
+        DaySlotsResponse booked = days.get(2);
+        assertThat(booked.getBookedSlots()).containsExactly("09:15", "09:45");
+        BitSet bitmap = BitSet.valueOf(Base64.getDecoder().decode(booked.getBitmap()));
+        assertThat(bitmap.stream().boxed().toList()).containsExactly(9 * 60 + 15, 9 * 60 + 45);
+        assertThat(days.get(0).getBookedSlots()).isEmpty();
+        assertThat(days.get(0).getBitmap()).isEmpty();
+    }
+}
@@ -0,0 +1,203 @@
+package com.mtbs.appointments.support;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mtbs.appointments.dto.ServiceCatalogueResponse;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Minimal in-process stand-in for the service-catalogue microservice, serving
+ * {@code GET /api/v1/services/{id}}, {@code GET /api/v1/services?ids=...} and the full
+ * listing {@code GET /api/v1/services} (with an ETag, honouring If-None-Match) from an
+ * in-memory map. Latency, an error rate (answered with 503) and bulk-endpoint support are
+ * configurable, and every request is counted so tests can assert on outbound call volume.
+ */
+public class StubCatalogueServer implements AutoCloseable {
+
+    private static final String BASE_PATH = "/api/v1/services";
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final Map<UUID, ServiceCatalogueResponse> services = new ConcurrentHashMap<>();
+    private final AtomicInteger singleRequests = new AtomicInteger();
+    private final AtomicInteger bulkRequests = new AtomicInteger();
+    private final AtomicInteger listRequests = new AtomicInteger();
+    private final AtomicInteger catalogueVersion = new AtomicInteger();
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final HttpServer server;
+
+    private volatile Duration latency = Duration.ZERO;
+    private volatile int bulkStatus = 200;
+    private volatile double errorRate;
+
+    public StubCatalogueServer() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext(BASE_PATH, this::handle);
+        server.setExecutor(executor);
+        server.start();
+    }
+
+    public String baseUrl() {
+        return "http://localhost:" + server.getAddress().getPort() + "/api/v1";
+    }
+
+    public ServiceCatalogueResponse addService(String name, double price, int durationInMinutes) {
+        ServiceCatalogueResponse service = new ServiceCatalogueResponse();
+        service.setId(UUID.randomUUID());
+        service.setName(name);
+        service.setDescription(name);
+        service.setPrice(price);
+        service.setDurationInMinutes(durationInMinutes);
+        service.setActive(true);
+        services.put(service.getId(), service);
+        catalogueVersion.incrementAndGet();
+        return service;
+    }
+
+    public void setActive(UUID serviceId, boolean active) {
+        services.get(serviceId).setActive(active);
+        catalogueVersion.incrementAndGet();
+    }
+
+    public void setLatency(Duration latency) {
+        this.latency = latency;
+    }
+
+    /** Share of requests, between 0 and 1, answered with 503 instead of their result. */
+    public void setErrorRate(double errorRate) {
+        this.errorRate = errorRate;
+    }
+
+    public void setBulkEnabled(boolean bulkEnabled) {
+        setBulkStatus(bulkEnabled ? 200 : 404);
+    }
+
+    /** Status the bulk endpoint answers with; anything but 200 comes with an empty body. */
+    public void setBulkStatus(int bulkStatus) {
+        this.bulkStatus = bulkStatus;
+    }
+
+    public int singleRequestCount() {
+        return singleRequests.get();
+    }
+
+    public int bulkRequestCount() {
+        return bulkRequests.get();
+    }
+
+    public int listRequestCount() {
+        return listRequests.get();
+    }
+
+    public int requestCount() {
+        return singleRequests.get() + bulkRequests.get() + listRequests.get();
+    }
+
+    public void resetCounts() {
+        singleRequests.set(0);
+        bulkRequests.set(0);
+        listRequests.set(0);
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            sleep(latency);
+            if (errorRate > 0 && ThreadLocalRandom.current().nextDouble() < errorRate) {
+                respond(exchange, 503, "{}");
+                return;
+            }
+            String path = exchange.getRequestURI().getPath();
+            if ((path.equals(BASE_PATH) || path.equals(BASE_PATH + "/")) && exchange.getRequestURI().getRawQuery() == null) {
+                listRequests.incrementAndGet();
+                String etag = "\"" + catalogueVersion.get() + "\"";
+                exchange.getResponseHeaders().set("ETag", etag);
+                if (etag.equals(exchange.getRequestHeaders().getFirst("If-None-Match"))) {
+                    exchange.sendResponseHeaders(304, -1);
+                    return;
+                }
+                respond(exchange, 200, objectMapper.writeValueAsString(List.copyOf(services.values())));
+                return;
+            }
+            if (path.equals(BASE_PATH) || path.equals(BASE_PATH + "/")) {
+                bulkRequests.incrementAndGet();
+                if (bulkStatus != 200) {
+                    respond(exchange, bulkStatus, "{}");
+                    return;
+                }
+                List<ServiceCatalogueResponse> found = parseIds(exchange.getRequestURI().getRawQuery()).stream()
+                        .map(services::get)
+                        .filter(Objects::nonNull)
+                        .toList();
+                respond(exchange, 200, objectMapper.writeValueAsString(found));
+                return;
+            }
+
+            singleRequests.incrementAndGet();
+            ServiceCatalogueResponse service;
+            try {
+                service = services.get(UUID.fromString(path.substring(BASE_PATH.length() + 1)));
+            } catch (IllegalArgumentException ex) {
+                service = null;
+            }
+            if (service == null) {
+                respond(exchange, 404, "{}");
+            } else {
+                respond(exchange, 200, objectMapper.writeValueAsString(service));
+            }
+        }
+    }
+
+    private static List<UUID> parseIds(String rawQuery) {
+        List<UUID> ids = new ArrayList<>();
+        if (rawQuery == null) {
+            return ids;
+        }
+        for (String param : rawQuery.split("&")) {
+            String[] pair = param.split("=", 2);
+            if (pair.length == 2 && pair[0].equals("ids")) {
+                for (String id : URLDecoder.decode(pair[1], StandardCharsets.UTF_8).split(",")) {
+                    ids.add(UUID.fromString(id.trim()));
+                }
+            }
+        }
+        return ids;
+    }
+
+    private static void respond(HttpExchange exchange, int status, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    private static void sleep(Duration duration) {
+        if (duration.isZero()) {
+            return;
+        }
+        try {
+            Thread.sleep(duration.toMillis());
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+}